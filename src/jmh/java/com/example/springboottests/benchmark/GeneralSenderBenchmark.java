@@ -0,0 +1,82 @@
+package com.example.springboottests.benchmark;
+
+import com.example.springboottests.configuration.CircuitBreakerProperties;
+import com.example.springboottests.configuration.RetryProperties;
+import com.example.springboottests.functional.net.GeneralSender;
+import com.example.springboottests.functional.net.PayloadEncoder;
+import com.example.springboottests.functional.net.SenderCircuitBreaker;
+import com.example.springboottests.functional.net.SenderRetry;
+import com.example.springboottests.functional.note.model.NoteInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link GeneralSender#send} against an in-process stub server responding with 204 (No Content).
+ *
+ * @author Georgii Lvov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneralSenderBenchmark {
+
+    private final NoteInfo noteInfo = new NoteInfo("note_id_value", "PROCESSED");
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private GeneralSender generalSender;
+    private String url;
+
+    @Setup
+    public void setUp() throws IOException {
+        serverExecutor = Executors.newFixedThreadPool(4);
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/notes", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        url = "http://localhost:" + server.getAddress().getPort() + "/notes";
+        generalSender = new GeneralSender(
+                WebClient.create(),
+                new SenderRetry(new RetryProperties(), new SimpleMeterRegistry()),
+                new SenderCircuitBreaker(new CircuitBreakerProperties(), new SimpleMeterRegistry()),
+                new PayloadEncoder(new ObjectMapper())
+        );
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdown();
+    }
+
+    @Benchmark
+    public Void send() {
+        return generalSender.send(
+                url,
+                HttpMethod.POST,
+                noteInfo,
+                httpHeaders -> httpHeaders.setContentType(MediaType.APPLICATION_JSON),
+                Void.class
+        );
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.springboottests.benchmark;
+
+import com.example.springboottests.functional.note.model.NoteInfo;
+import com.example.springboottests.functional.order.model.OrderDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the Jackson serialization of the outgoing payloads.
+ *
+ * @author Georgii Lvov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OrderDto orderDto = new OrderDto(1L, "new_workorder_id_value", "new_state_value");
+    private final NoteInfo noteInfo = new NoteInfo("note_id_value", "PROCESSED");
+
+    @Benchmark
+    public byte[] orderDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orderDto);
+    }
+
+    @Benchmark
+    public byte[] noteInfo() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(noteInfo);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.springboottests.benchmark;
+
+import com.example.springboottests.functional.order.mapper.OrderMapper;
+import com.example.springboottests.functional.order.model.OrderDto;
+import com.example.springboottests.functional.order.model.OrderEntity;
+import com.example.springboottests.functional.order.model.OrderRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the {@link OrderMapper} conversions.
+ *
+ * @author Georgii Lvov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderMapperBenchmark {
+
+    private final OrderMapper orderMapper = new OrderMapper();
+    // alternated so that every invocation changes the entity instead of hitting the no-op check
+    private final OrderRequest[] orderRequests = {
+            new OrderRequest("new_workorder_id_value", "new_state_value"),
+            new OrderRequest("old_workorder_id_value", "CREATED")
+    };
+
+    private OrderEntity orderEntity;
+    private int counter;
+
+    @Setup
+    public void setUp() {
+        orderEntity = new OrderEntity();
+        orderEntity.setId(1L);
+        orderEntity.setWorkorderId("old_workorder_id_value");
+        orderEntity.setState("CREATED");
+    }
+
+    @Benchmark
+    public OrderDto toDto() {
+        return orderMapper.toDto(orderEntity);
+    }
+
+    @Benchmark
+    public OrderEntity updateEntityFromRequest() {
+        orderMapper.updateEntityFromRequest(orderEntity, orderRequests[counter++ & 1]);
+        return orderEntity;
+    }
+}
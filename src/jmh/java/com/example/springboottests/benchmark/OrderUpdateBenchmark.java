@@ -0,0 +1,120 @@
+package com.example.springboottests.benchmark;
+
+import com.example.springboottests.configuration.NotificationExecutorProperties;
+import com.example.springboottests.configuration.OrderCacheProperties;
+import com.example.springboottests.functional.order.mapper.OrderMapper;
+import com.example.springboottests.functional.order.model.OrderEntity;
+import com.example.springboottests.functional.order.model.OrderRequest;
+import com.example.springboottests.functional.order.repository.OrderRepository;
+import com.example.springboottests.functional.order.service.OrderCache;
+import com.example.springboottests.functional.order.service.OrderOutbox;
+import com.example.springboottests.functional.order.service.OrderService;
+import com.example.springboottests.functional.order.service.OrderUpdateStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link OrderService#updateOrder} with the {@link OrderUpdateStrategy} variants against
+ * a PostgreSQL container.
+ * <p>
+ * Both strategies run through the same Spring context with the JPA repositories and transaction management
+ * of the application, so {@code DIRTY_CHECKING} loads and flushes the entity through Hibernate and
+ * {@code RETURNING} runs {@link OrderRepository#updateReturning} with its entity mapping. Every invocation
+ * changes the state of the order, so that neither strategy skips the write. Requires a running Docker daemon.
+ *
+ * @author Georgii Lvov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderUpdateBenchmark {
+
+    private static final String WORKORDER_ID = "workorder_id_value";
+
+    @Param({"DIRTY_CHECKING", "RETURNING"})
+    public OrderUpdateStrategy strategy;
+
+    private PostgreSQLContainer<?> postgreSQLContainer;
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private Long orderId;
+
+    private long counter;
+
+    @Setup
+    public void setUp() {
+        postgreSQLContainer = new PostgreSQLContainer<>("postgres:latest");
+        postgreSQLContainer.start();
+
+        context = new SpringApplicationBuilder(BenchmarkConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=" + postgreSQLContainer.getJdbcUrl(),
+                        "--spring.datasource.username=" + postgreSQLContainer.getUsername(),
+                        "--spring.datasource.password=" + postgreSQLContainer.getPassword(),
+                        "--spring.datasource.hikari.auto-commit=false",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.properties.hibernate.connection.provider_disables_autocommit=true",
+                        "--order.update.strategy=" + strategy
+                );
+
+        OrderEntity order = new OrderEntity();
+        order.setWorkorderId(WORKORDER_ID);
+        order.setState("CREATED");
+
+        orderId = context.getBean(OrderRepository.class).save(order).getId();
+        orderService = context.getBean(OrderService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        postgreSQLContainer.stop();
+    }
+
+    @Benchmark
+    public Object updateOrder() {
+        return orderService.updateOrder(orderId, new OrderRequest(WORKORDER_ID, nextState()), null);
+    }
+
+    private String nextState() {
+        return "STATE_" + (counter++ & 1);
+    }
+
+    /**
+     * The persistence part of the application: the order services with the JPA repositories,
+     * without the web, messaging and security configuration.
+     */
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({
+            DataSourceAutoConfiguration.class,
+            DataSourceTransactionManagerAutoConfiguration.class,
+            HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class
+    })
+    @EntityScan(basePackageClasses = OrderEntity.class)
+    @EnableJpaRepositories(basePackageClasses = OrderRepository.class)
+    @EnableConfigurationProperties({NotificationExecutorProperties.class, OrderCacheProperties.class})
+    @Import({OrderService.class, OrderMapper.class, OrderOutbox.class, OrderCache.class, SimpleMeterRegistry.class})
+    static class BenchmarkConfiguration {
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.springboottests.benchmark;
+
+import com.example.springboottests.functional.note.NoteXmlReader;
+import com.example.springboottests.functional.note.XmlConverter;
+import com.example.springboottests.functional.note.model.Note;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link XmlConverter#toObject} for {@link Note} messages of different sizes,
+ * with the streaming fast path and with full databinding.
+ *
+ * @author Georgii Lvov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XmlConverterBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    public int noteIdLength;
+
+    @Param({"true", "false"})
+    public boolean streaming;
+
+    private XmlConverter xmlConverter;
+    private String noteXml;
+
+    @Setup
+    public void setUp() {
+        xmlConverter = new XmlConverter(streaming ? List.of(new NoteXmlReader()) : List.of());
+        noteXml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<note>\n    <noteId>"
+                + "n".repeat(noteIdLength)
+                + "</noteId>\n</note>";
+    }
+
+    @Benchmark
+    public Note toObject() {
+        return xmlConverter.toObject(noteXml, Note.class);
+    }
+}
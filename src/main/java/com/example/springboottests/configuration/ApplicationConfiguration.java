@@ -1,14 +1,96 @@
 package com.example.springboottests.configuration;
 
+import com.example.springboottests.configuration.NotificationExecutorProperties.RejectionPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Configuration class enabling asynchronous execution in the application.
+ * Configuration class enabling asynchronous and scheduled execution in the application.
  *
  * @author Georgii Lvov
  */
+@Slf4j
 @Configuration
 @EnableAsync
+@EnableScheduling
+@EnableConfigurationProperties({NotificationExecutorProperties.class, OrderCacheProperties.class})
 public class ApplicationConfiguration {
+
+    public static final String NOTIFICATION_EXECUTOR = "notificationExecutor";
+
+    /**
+     * Creates a bounded executor for asynchronous notification dispatch.
+     * <p>
+     * Active threads, queue depth, time spent by tasks in the queue and rejected tasks
+     * are reported under the {@code notification.executor.*} meters.
+     *
+     * @param properties    Executor settings
+     * @param meterRegistry MeterRegistry to register the executor meters in
+     * @return Configured ThreadPoolTaskExecutor instance
+     */
+    @Bean(NOTIFICATION_EXECUTOR)
+    public ThreadPoolTaskExecutor notificationExecutor(NotificationExecutorProperties properties,
+                                                       MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setThreadNamePrefix("notification-");
+        executor.setCorePoolSize(properties.getCorePoolSize());
+        executor.setMaxPoolSize(properties.getMaxPoolSize());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setKeepAliveSeconds((int) properties.getKeepAlive().toSeconds());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setTaskDecorator(recordingWaitTime(meterRegistry.timer("notification.executor.wait")));
+        executor.setRejectedExecutionHandler(countingRejections(
+                rejectionHandler(properties.getRejectionPolicy()),
+                meterRegistry.counter("notification.executor.rejected")
+        ));
+
+        Gauge.builder("notification.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .register(meterRegistry);
+        Gauge.builder("notification.executor.queued", executor,
+                        e -> e.getThreadPoolExecutor().getQueue().size())
+                .register(meterRegistry);
+
+        return executor;
+    }
+
+    private static RejectedExecutionHandler rejectionHandler(RejectionPolicy policy) {
+        return switch (policy) {
+            case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+            case ABORT, OUTBOX -> new ThreadPoolExecutor.AbortPolicy();
+        };
+    }
+
+    private static RejectedExecutionHandler countingRejections(RejectedExecutionHandler handler, Counter rejected) {
+        return (task, pool) -> {
+            rejected.increment();
+            log.warn("Notification executor is saturated, applying rejection policy");
+            handler.rejectedExecution(task, pool);
+        };
+    }
+
+    private static TaskDecorator recordingWaitTime(Timer waitTimer) {
+        return task -> {
+            long submittedAt = System.nanoTime();
+
+            return () -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                task.run();
+            };
+        };
+    }
 }
@@ -0,0 +1,16 @@
+package com.example.springboottests.configuration;
+
+import com.example.springboottests.functional.net.SenderCircuitBreaker;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for circuit breaker functionality.
+ * The circuit breakers and bulkheads are applied by {@link SenderCircuitBreaker} inside the WebClient pipeline.
+ *
+ * @author Georgii Lvov
+ */
+@Configuration
+@EnableConfigurationProperties(CircuitBreakerProperties.class)
+public class CircuitBreakerConfiguration {
+}
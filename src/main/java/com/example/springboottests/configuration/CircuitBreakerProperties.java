@@ -0,0 +1,100 @@
+package com.example.springboottests.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Circuit breaker and bulkhead settings for outgoing requests, bound from the {@code circuit-breaker.*} properties.
+ * <p>
+ * The top-level values form the default policy. Entries of {@code circuit-breaker.targets} override
+ * any of them for requests whose URL starts with the configured {@code url}. Requests to other URLs
+ * get a circuit breaker per destination host.
+ *
+ * @author Georgii Lvov
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "circuit-breaker")
+public class CircuitBreakerProperties {
+
+    /**
+     * Whether requests are guarded by circuit breakers and bulkheads at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Percentage of failed calls in the sliding window at which the circuit opens.
+     */
+    private double failureRateThreshold = 50;
+
+    /**
+     * Duration from which on a call is considered slow.
+     */
+    private Duration slowCallDuration = Duration.ofSeconds(5);
+
+    /**
+     * Percentage of slow calls in the sliding window at which the circuit opens.
+     */
+    private double slowCallRateThreshold = 100;
+
+    /**
+     * Number of the most recent calls the rates are computed over.
+     */
+    private int slidingWindowSize = 20;
+
+    /**
+     * Minimum number of calls in the sliding window before the rates are evaluated.
+     */
+    private int minimumNumberOfCalls = 10;
+
+    /**
+     * Time the circuit stays open before probe calls are let through.
+     */
+    private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+
+    /**
+     * Number of probe calls in the half-open state, all of which must succeed to close the circuit.
+     */
+    private int permittedCallsInHalfOpenState = 3;
+
+    /**
+     * Maximum number of concurrent calls per destination, further calls are rejected immediately.
+     */
+    private int maxConcurrentCalls = 25;
+
+    /**
+     * Per-target overrides, keyed by target name.
+     */
+    private Map<String, Target> targets = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Target {
+
+        /**
+         * URL prefix of the requests the target applies to.
+         */
+        private String url;
+
+        private Double failureRateThreshold;
+
+        private Duration slowCallDuration;
+
+        private Double slowCallRateThreshold;
+
+        private Integer slidingWindowSize;
+
+        private Integer minimumNumberOfCalls;
+
+        private Duration waitDurationInOpenState;
+
+        private Integer permittedCallsInHalfOpenState;
+
+        private Integer maxConcurrentCalls;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.springboottests.configuration;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+
+/**
+ * Configuration class for the HTTP client of outgoing requests.
+ * <p>
+ * The connector is picked up by the auto-configured {@code WebClient.Builder}, so it applies to
+ * every WebClient of the application. The connection pool publishes its metrics
+ * ({@code reactor.netty.connection.provider.*}) per destination host.
+ *
+ * @author Georgii Lvov
+ */
+@Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientConfiguration {
+
+    private static final String CONNECTION_PROVIDER_NAME = "outbound";
+
+    /**
+     * Configures the connection pool shared by all outgoing requests.
+     *
+     * @param properties Settings of the HTTP client
+     * @return Configured ConnectionProvider instance
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider outboundConnectionProvider(HttpClientProperties properties) {
+        return connectionProvider(properties);
+    }
+
+    /**
+     * Configures the connector of the WebClients with the shared connection pool and the timeouts.
+     *
+     * @param properties         Settings of the HTTP client
+     * @param connectionProvider ConnectionProvider of the outgoing requests
+     * @return Configured ReactorClientHttpConnector instance
+     */
+    @Bean
+    public ReactorClientHttpConnector outboundHttpConnector(HttpClientProperties properties,
+                                                            ConnectionProvider connectionProvider) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getResponseTimeout());
+
+        if (properties.isHttp2()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    /**
+     * Builds the connection pool from the given settings.
+     *
+     * @param properties Settings of the HTTP client
+     * @return ConnectionProvider with the per-host overrides applied
+     */
+    public static ConnectionProvider connectionProvider(HttpClientProperties properties) {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(CONNECTION_PROVIDER_NAME)
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .evictInBackground(properties.getEvictionInterval())
+                .metrics(true);
+
+        properties.getHosts().values().forEach(host -> {
+            URI uri = URI.create(host.getUrl());
+            int port = uri.getPort() != -1 ? uri.getPort() : "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+
+            builder.forRemoteHost(InetSocketAddress.createUnresolved(uri.getHost(), port), spec -> {
+                spec.maxConnections(host.getMaxConnections() != null
+                        ? host.getMaxConnections() : properties.getMaxConnections());
+                spec.pendingAcquireMaxCount(host.getPendingAcquireMaxCount() != null
+                        ? host.getPendingAcquireMaxCount() : properties.getPendingAcquireMaxCount());
+                spec.pendingAcquireTimeout(properties.getPendingAcquireTimeout());
+                spec.maxIdleTime(properties.getMaxIdleTime());
+                spec.maxLifeTime(properties.getMaxLifeTime());
+                spec.evictInBackground(properties.getEvictionInterval());
+                spec.metrics(true);
+            });
+        });
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.springboottests.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings of the HTTP client used for outgoing requests, bound from the {@code http-client.*} properties.
+ * <p>
+ * The pool values apply to every destination host. Entries of {@code http-client.hosts} override
+ * the pool size and the pending acquire queue for the host of the configured {@code url}.
+ *
+ * @author Georgii Lvov
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "http-client")
+public class HttpClientProperties {
+
+    /**
+     * Timeout of establishing a connection.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Maximum time to wait for the response after the request has been sent.
+     */
+    private Duration responseTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Whether HTTP/2 is negotiated with destinations supporting it over TLS.
+     */
+    private boolean http2 = false;
+
+    /**
+     * Maximum number of connections per destination host.
+     */
+    private int maxConnections = 50;
+
+    /**
+     * Maximum number of requests waiting for a connection per destination host.
+     */
+    private int pendingAcquireMaxCount = 200;
+
+    /**
+     * Maximum time a request waits for a connection.
+     */
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Time after which an idle connection is closed.
+     */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    /**
+     * Time after which a connection is closed once it is released, regardless of its activity.
+     */
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+
+    /**
+     * Interval of evicting idle and expired connections in the background.
+     */
+    private Duration evictionInterval = Duration.ofSeconds(30);
+
+    /**
+     * Per-host overrides, keyed by destination name.
+     */
+    private Map<String, Host> hosts = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Host {
+
+        /**
+         * URL of the destination, only scheme, host and port are considered.
+         */
+        private String url;
+
+        private Integer maxConnections;
+
+        private Integer pendingAcquireMaxCount;
+    }
+}
@@ -11,6 +11,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.jms.annotation.EnableJms;
 import org.springframework.jms.config.DefaultJmsListenerContainerFactory;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.time.Duration;
 
@@ -26,6 +28,8 @@ import java.time.Duration;
 @EnableJms
 public class JmsConfiguration {
 
+    public static final String JMS_LISTENER_EXECUTOR = "jmsListenerExecutor";
+
     @Value("${queue.host}")
     private String host;
 
@@ -41,6 +45,21 @@ public class JmsConfiguration {
     @Value("${queue.ssl.cipher_suite}")
     private String cipherSuite;
 
+    @Value("${queue.consumers.concurrency:1}")
+    private String concurrency;
+
+    @Value("${queue.consumers.idle-consumer-limit:1}")
+    private int idleConsumerLimit;
+
+    @Value("${queue.consumers.idle-task-execution-limit:1}")
+    private int idleTaskExecutionLimit;
+
+    @Value("${queue.consumers.max-messages-per-task:-1}")
+    private int maxMessagesPerTask;
+
+    @Value("${queue.batch.enabled:false}")
+    private boolean batchEnabled;
+
     @Bean
     public ConnectionFactory connectionFactory() {
         MQConnectionFactory factory = new MQConnectionFactory();
@@ -64,14 +83,63 @@ public class JmsConfiguration {
         return factory;
     }
 
+    /**
+     * Creates the listener container factory with a dynamically scaled number of consumers.
+     * <p>
+     * The containers start with the lower bound of {@code queue.consumers.concurrency} ("min-max") and add consumers
+     * up to the upper bound while all existing ones are busy, i.e. while messages keep queueing up. Surplus consumers
+     * are released after {@code queue.consumers.idle-task-execution-limit} receives without a message.
+     * <p>
+     * The containers are not started if the batch mode is enabled, since the queue is consumed
+     * by {@link com.example.springboottests.functional.note.BatchMqConsumer} then.
+     * <p>
+     * The consumers run on the threads of {@link #jmsListenerExecutor()}.
+     *
+     * @return DefaultJmsListenerContainerFactory
+     */
     @Bean
     public DefaultJmsListenerContainerFactory jmsListenerContainerFactory() {
-        DefaultJmsListenerContainerFactory containerFactory = new DefaultJmsListenerContainerFactory();
+        DefaultJmsListenerContainerFactory containerFactory = new DefaultJmsListenerContainerFactory() {
+            @Override
+            protected void initializeContainer(DefaultMessageListenerContainer container) {
+                super.initializeContainer(container);
+
+                container.setIdleConsumerLimit(idleConsumerLimit);
+                container.setIdleTaskExecutionLimit(idleTaskExecutionLimit);
+            }
+        };
 
         containerFactory.setConnectionFactory(connectionFactory());
+        containerFactory.setTaskExecutor(jmsListenerExecutor());
         containerFactory.setSessionAcknowledgeMode(Session.SESSION_TRANSACTED);
         containerFactory.setSessionTransacted(true);
+        containerFactory.setConcurrency(concurrency);
+        containerFactory.setMaxMessagesPerTask(maxMessagesPerTask);
+        containerFactory.setAutoStartup(!batchEnabled);
 
         return containerFactory;
     }
+
+    /**
+     * Creates the executor running the consumers of the listener containers.
+     * <p>
+     * It has a thread for each consumer up to the upper bound of {@code queue.consumers.concurrency}, and the threads
+     * are kept when consumers are released. A consumer added later reuses one of them, so the consumer threads keep
+     * a bounded set of names ({@code mq-consumer-1} to {@code mq-consumer-<max>}), which the listener metrics are
+     * tagged with.
+     *
+     * @return Configured ThreadPoolTaskExecutor instance
+     */
+    @Bean(JMS_LISTENER_EXECUTOR)
+    public ThreadPoolTaskExecutor jmsListenerExecutor() {
+        int maxConsumers = Integer.parseInt(concurrency.substring(concurrency.indexOf('-') + 1).trim());
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setThreadNamePrefix("mq-consumer-");
+        executor.setCorePoolSize(maxConsumers);
+        executor.setMaxPoolSize(maxConsumers);
+
+        return executor;
+    }
 }
@@ -0,0 +1,50 @@
+package com.example.springboottests.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the executor dispatching notifications asynchronously,
+ * bound from the {@code notification.executor.*} properties.
+ *
+ * @author Georgii Lvov
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "notification.executor")
+public class NotificationExecutorProperties {
+
+    private int corePoolSize = 4;
+
+    private int maxPoolSize = 8;
+
+    /**
+     * Maximum number of tasks waiting for a free thread.
+     */
+    private int queueCapacity = 500;
+
+    private Duration keepAlive = Duration.ofSeconds(60);
+
+    /**
+     * What to do with a task when both the pool and the queue are full.
+     */
+    private RejectionPolicy rejectionPolicy = RejectionPolicy.CALLER_RUNS;
+
+    public enum RejectionPolicy {
+        /**
+         * Run the task on the submitting thread, slowing the producer down.
+         */
+        CALLER_RUNS,
+        /**
+         * Reject the task with an exception.
+         */
+        ABORT,
+        /**
+         * Reject the task and write the notification to the transactional outbox instead.
+         */
+        OUTBOX
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.springboottests.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the in-process order cache, bound from the {@code order.cache.*} properties.
+ *
+ * @author Georgii Lvov
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "order.cache")
+public class OrderCacheProperties {
+
+    /**
+     * Maximum number of entries per cache.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Time after which an entry is evicted regardless of updates.
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+}
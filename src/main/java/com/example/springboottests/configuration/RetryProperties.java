@@ -0,0 +1,73 @@
+package com.example.springboottests.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Retry settings for outgoing requests, bound from the {@code retry.*} properties.
+ * <p>
+ * The top-level values form the default policy. Entries of {@code retry.targets} override
+ * any of them for requests whose URL starts with the configured {@code url}.
+ *
+ * @author Georgii Lvov
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "retry")
+public class RetryProperties {
+
+    /**
+     * Total number of attempts, including the first one.
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * Upper bound of the delay before the first retry.
+     */
+    private Duration initialBackoff = Duration.ofMillis(100);
+
+    /**
+     * Upper bound of the delay before any retry.
+     */
+    private Duration maxBackoff = Duration.ofSeconds(2);
+
+    /**
+     * Growth factor of the delay bound between consecutive retries.
+     */
+    private double multiplier = 2.0;
+
+    /**
+     * Time budget for all attempts of a single request.
+     */
+    private Duration maxElapsed = Duration.ofSeconds(10);
+
+    /**
+     * Per-target overrides, keyed by target name.
+     */
+    private Map<String, Target> targets = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Target {
+
+        /**
+         * URL prefix of the requests the target applies to.
+         */
+        private String url;
+
+        private Integer maxAttempts;
+
+        private Duration initialBackoff;
+
+        private Duration maxBackoff;
+
+        private Double multiplier;
+
+        private Duration maxElapsed;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.springboottests.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration class for the asynchronous request processing of Spring MVC, used by the order export.
+ * <p>
+ * Spring Boot hands its {@code applicationTaskExecutor} to Spring MVC, but does not create it once the application
+ * defines an executor of its own ({@link ApplicationConfiguration#NOTIFICATION_EXECUTOR}). Spring MVC would then
+ * start a new thread for every asynchronous request. Instead, the requests run on a bounded pool configured by the
+ * {@code web.async-executor.*} properties, and requests beyond its capacity are rejected.
+ * The timeout of the requests is set by {@code spring.mvc.async.request-timeout}.
+ *
+ * @author Georgii Lvov
+ */
+@Configuration
+public class WebMvcConfiguration implements WebMvcConfigurer {
+
+    public static final String MVC_ASYNC_EXECUTOR = "mvcAsyncExecutor";
+
+    @Value("${web.async-executor.pool-size:8}")
+    private int poolSize;
+
+    @Value("${web.async-executor.queue-capacity:16}")
+    private int queueCapacity;
+
+    /**
+     * Creates a bounded executor for asynchronous MVC requests.
+     *
+     * @return Configured ThreadPoolTaskExecutor instance
+     */
+    @Bean(MVC_ASYNC_EXECUTOR)
+    public ThreadPoolTaskExecutor mvcAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor());
+    }
+}
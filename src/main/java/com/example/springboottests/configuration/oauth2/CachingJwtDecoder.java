@@ -0,0 +1,88 @@
+package com.example.springboottests.configuration.oauth2;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * {@link JwtDecoder} caching the tokens decoded and validated by a delegate, so that the signature
+ * of a token is verified only once until it expires.
+ * <p>
+ * Tokens are keyed by their SHA-256 hash and cached until their {@code exp} claim, bounded by a maximum TTL.
+ * Failed tokens are never cached. The delegate must therefore not depend on anything but the token itself.
+ *
+ * @author Georgii Lvov
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> tokens;
+
+    public CachingJwtDecoder(JwtDecoder delegate,
+                             long maximumSize,
+                             Duration maxTtl,
+                             Clock clock) {
+        this.delegate = delegate;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilExpiry(maxTtl, clock))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        return tokens.get(hash(token), key -> delegate.decode(token));
+    }
+
+    public Cache<String, Jwt> getCache() {
+        return tokens;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private record UntilExpiry(Duration maxTtl, Clock clock) implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            Instant expiresAt = jwt.getExpiresAt();
+
+            if (expiresAt == null) {
+                return maxTtl.toNanos();
+            }
+
+            Duration untilExpiry = Duration.between(clock.instant(), expiresAt);
+
+            return Math.max(0, Math.min(untilExpiry.toNanos(), maxTtl.toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.springboottests.configuration.oauth2;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.oauth2.client.*;
@@ -7,35 +10,39 @@ import org.springframework.security.oauth2.client.registration.ClientRegistratio
 import org.springframework.security.oauth2.client.web.reactive.function.client.ServletOAuth2AuthorizedClientExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.time.Clock;
+import java.time.Duration;
+
 /**
  * Configuration class for OAuth2 client settings.
  * This class provides configuration for OAuth2 authentication when making requests to external services.
+ * <p>
+ * Active unless {@code oauth2.client.mode} is set to {@code reactive}, see {@link ReactiveClientConfiguration}.
  *
  * @author Georgii Lvov
  */
 @Configuration
+@ConditionalOnProperty(name = "oauth2.client.mode", havingValue = "servlet", matchIfMissing = true)
 public class ClientConfiguration {
-    private static final String CLIENT_REGISTRATION_ID = "tardis";
+    static final String CLIENT_REGISTRATION_ID = "tardis";
 
     /**
      * Configures a WebClient with OAuth2 authentication capabilities.
      *
      * @param builder                  WebClient.Builder object for building WebClient instances
      * @param authorizedClientManager OAuth2AuthorizedClientManager for managing authorized clients
-     * @param authorizedClientService OAuth2AuthorizedClientService for managing authorized client state
      * @return Configured WebClient instance
      */
     @Bean
     public WebClient oauthWebClient(WebClient.Builder builder,
-                                    OAuth2AuthorizedClientManager authorizedClientManager,
-                                    OAuth2AuthorizedClientService authorizedClientService) {
+                                    RefreshAheadAuthorizedClientManager authorizedClientManager) {
         var oauthFilterFunction = new ServletOAuth2AuthorizedClientExchangeFilterFunction(authorizedClientManager);
 
         oauthFilterFunction.setDefaultOAuth2AuthorizedClient(true);
         oauthFilterFunction.setDefaultClientRegistrationId(CLIENT_REGISTRATION_ID);
         oauthFilterFunction.setAuthorizationFailureHandler((exception, principal, attributes) -> {
             String registrationId = ((ClientAuthorizationException) exception).getClientRegistrationId();
-            authorizedClientService.removeAuthorizedClient(registrationId, principal.getName());
+            authorizedClientManager.invalidate(registrationId, principal.getName());
         });
 
         return builder
@@ -46,20 +53,29 @@ public class ClientConfiguration {
 
     /**
      * Configures an OAuth2AuthorizedClientManager for managing authorized clients.
+     * <p>
+     * Tokens are fetched again once they expire within {@code refreshAhead}: in the background by
+     * {@link RefreshAheadAuthorizedClientManager}, or by the caller if the background refresh has not run yet.
      *
      * @param clientRegistrationRepository ClientRegistrationRepository for accessing client registrations
      * @param clientService                OAuth2AuthorizedClientService for managing authorized client state
+     * @param meterRegistry                MeterRegistry to report the token metrics to
+     * @param refreshAhead                 How long before the expiry a token is refreshed
+     * @param refreshInterval              How often the tokens are checked for upcoming expiry
      * @return Configured OAuth2AuthorizedClientManager instance
      */
     @Bean
-    public OAuth2AuthorizedClientManager authorizedClientManager(
+    public RefreshAheadAuthorizedClientManager authorizedClientManager(
             ClientRegistrationRepository clientRegistrationRepository,
-            OAuth2AuthorizedClientService clientService) {
+            OAuth2AuthorizedClientService clientService,
+            MeterRegistry meterRegistry,
+            @Value("${oauth2.client.token.refresh-ahead:60s}") Duration refreshAhead,
+            @Value("${oauth2.client.token.refresh-interval:10s}") Duration refreshInterval) {
 
         OAuth2AuthorizedClientProvider authorizedClientProvider =
                 OAuth2AuthorizedClientProviderBuilder.builder()
-                        .refreshToken()
-                        .clientCredentials()
+                        .refreshToken(configurer -> configurer.clockSkew(refreshAhead))
+                        .clientCredentials(configurer -> configurer.clockSkew(refreshAhead))
                         .build();
 
         var authorizedClientManager = new AuthorizedClientServiceOAuth2AuthorizedClientManager(
@@ -67,6 +83,11 @@ public class ClientConfiguration {
 
         authorizedClientManager.setAuthorizedClientProvider(authorizedClientProvider);
 
-        return authorizedClientManager;
+        var refreshAheadClientManager = new RefreshAheadAuthorizedClientManager(
+                authorizedClientManager, clientService, refreshAhead, Clock.systemUTC(), meterRegistry);
+
+        refreshAheadClientManager.start(refreshInterval);
+
+        return refreshAheadClientManager;
     }
 }
@@ -0,0 +1,56 @@
+package com.example.springboottests.configuration.oauth2;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Caching settings of the resource server {@code JwtDecoder}, bound from the {@code security.jwt.*} properties.
+ *
+ * @author Georgii Lvov
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "security.jwt")
+public class JwtDecoderProperties {
+
+    private final JwkSet jwkSet = new JwkSet();
+
+    private final TokenCache tokenCache = new TokenCache();
+
+    @Getter
+    @Setter
+    public static class JwkSet {
+
+        /**
+         * How long the fetched JWK set is used before it is fetched again.
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+
+        /**
+         * Time to wait for a JWK set fetch started by another thread.
+         */
+        private Duration refreshTimeout = Duration.ofSeconds(15);
+
+        /**
+         * How long before the expiry the JWK set is refreshed in the background.
+         */
+        private Duration refreshAhead = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class TokenCache {
+
+        private boolean enabled = true;
+
+        private long maximumSize = 10_000;
+
+        /**
+         * Upper bound of the time a token is cached; tokens are never cached beyond their expiry.
+         */
+        private Duration maxTtl = Duration.ofMinutes(10);
+    }
+}
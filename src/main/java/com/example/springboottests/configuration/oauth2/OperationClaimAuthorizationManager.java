@@ -0,0 +1,36 @@
+package com.example.springboottests.configuration.oauth2;
+
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * {@link AuthorizationManager} granting access to requests authenticated with a JWT
+ * whose custom {@code operation} claim equals the HTTP method of the request.
+ * <p>
+ * The check runs in the authorization stage, where the request is at hand, so the {@code JwtDecoder}
+ * does not depend on the current request.
+ *
+ * @author Georgii Lvov
+ */
+public class OperationClaimAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final String OPERATION_CLAIM = "operation";
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        boolean granted = authentication.get() instanceof JwtAuthenticationToken jwtAuthentication
+                && jwtAuthentication.isAuthenticated()
+                && Objects.equals(
+                        jwtAuthentication.getToken().getClaimAsString(OPERATION_CLAIM),
+                        context.getRequest().getMethod()
+                );
+
+        return new AuthorizationDecision(granted);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.springboottests.configuration.oauth2;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.client.AuthorizedClientServiceReactiveOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.InMemoryReactiveOAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientProvider;
+import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientProviderBuilder;
+import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.RemoveAuthorizedClientReactiveOAuth2AuthorizationFailureHandler;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.client.registration.InMemoryReactiveClientRegistrationRepository;
+import org.springframework.security.oauth2.client.registration.ReactiveClientRegistrationRepository;
+import org.springframework.security.oauth2.client.web.reactive.function.client.ServerOAuth2AuthorizedClientExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+import static com.example.springboottests.configuration.oauth2.ClientConfiguration.CLIENT_REGISTRATION_ID;
+
+/**
+ * Reactive alternative to {@link ClientConfiguration}, enabled with {@code oauth2.client.mode=reactive}.
+ * <p>
+ * Tokens are obtained by a reactive client manager and kept in an in-memory reactive store, so
+ * the WebClient neither needs a servlet request context nor blocks on the token store.
+ * Outbound calls can thus be composed non-blockingly from JMS listeners and {@code @Async} tasks.
+ * <p>
+ * Unlike the servlet mode, this mode does not use {@link RefreshAheadAuthorizedClientManager}:
+ * <ul>
+ *     <li>a token expiring within {@code oauth2.client.token.refresh-ahead} is fetched again by the next caller,
+ *     not in the background, so that caller waits for the token endpoint;</li>
+ *     <li>concurrent callers finding no valid token each fetch one, there is no single-flight;</li>
+ *     <li>the {@code oauth2.client.token.*} metrics are not reported.</li>
+ * </ul>
+ * A token rejected with 401 or 403 is removed from the store, so that the next call fetches a new one.
+ *
+ * @author Georgii Lvov
+ */
+@Configuration
+@ConditionalOnProperty(name = "oauth2.client.mode", havingValue = "reactive")
+public class ReactiveClientConfiguration {
+
+    /**
+     * Configures a WebClient with the reactive OAuth2 filter for making authenticated requests.
+     *
+     * @param builder                 WebClient.Builder object for building WebClient instances
+     * @param authorizedClientManager ReactiveOAuth2AuthorizedClientManager for managing authorized clients
+     * @param authorizedClientService ReactiveOAuth2AuthorizedClientService for managing authorized client state
+     * @return Configured WebClient instance
+     */
+    @Bean
+    public WebClient oauthWebClient(WebClient.Builder builder,
+                                    ReactiveOAuth2AuthorizedClientManager authorizedClientManager,
+                                    ReactiveOAuth2AuthorizedClientService authorizedClientService) {
+        var oauthFilterFunction = new ServerOAuth2AuthorizedClientExchangeFilterFunction(authorizedClientManager);
+
+        oauthFilterFunction.setDefaultClientRegistrationId(CLIENT_REGISTRATION_ID);
+        oauthFilterFunction.setAuthorizationFailureHandler(new RemoveAuthorizedClientReactiveOAuth2AuthorizationFailureHandler(
+                (registrationId, principal, attributes) ->
+                        authorizedClientService.removeAuthorizedClient(registrationId, principal.getName())));
+
+        return builder
+                .filter(oauthFilterFunction)
+                .build();
+    }
+
+    /**
+     * Exposes the client registrations bound from {@code spring.security.oauth2.client} to the reactive client manager.
+     *
+     * @param clientRegistrationRepository ClientRegistrationRepository holding the bound client registrations
+     * @return ReactiveClientRegistrationRepository with the registration of Tardis
+     */
+    @Bean
+    public ReactiveClientRegistrationRepository reactiveClientRegistrationRepository(
+            ClientRegistrationRepository clientRegistrationRepository) {
+
+        return new InMemoryReactiveClientRegistrationRepository(
+                clientRegistrationRepository.findByRegistrationId(CLIENT_REGISTRATION_ID));
+    }
+
+    /**
+     * Configures the in-memory store of the obtained tokens.
+     *
+     * @param clientRegistrationRepository ReactiveClientRegistrationRepository for accessing client registrations
+     * @return Configured ReactiveOAuth2AuthorizedClientService instance
+     */
+    @Bean
+    public ReactiveOAuth2AuthorizedClientService reactiveAuthorizedClientService(
+            ReactiveClientRegistrationRepository clientRegistrationRepository) {
+
+        return new InMemoryReactiveOAuth2AuthorizedClientService(clientRegistrationRepository);
+    }
+
+    /**
+     * Configures a ReactiveOAuth2AuthorizedClientManager not depending on a request context.
+     * Tokens are fetched again once they expire within {@code refreshAhead}.
+     *
+     * @param clientRegistrationRepository ReactiveClientRegistrationRepository for accessing client registrations
+     * @param clientService                ReactiveOAuth2AuthorizedClientService for managing authorized client state
+     * @param refreshAhead                 How long before the expiry a token is refreshed
+     * @return Configured ReactiveOAuth2AuthorizedClientManager instance
+     */
+    @Bean
+    public ReactiveOAuth2AuthorizedClientManager reactiveAuthorizedClientManager(
+            ReactiveClientRegistrationRepository clientRegistrationRepository,
+            ReactiveOAuth2AuthorizedClientService clientService,
+            @Value("${oauth2.client.token.refresh-ahead:60s}") Duration refreshAhead) {
+
+        ReactiveOAuth2AuthorizedClientProvider authorizedClientProvider =
+                ReactiveOAuth2AuthorizedClientProviderBuilder.builder()
+                        .refreshToken(configurer -> configurer.clockSkew(refreshAhead))
+                        .clientCredentials(configurer -> configurer.clockSkew(refreshAhead))
+                        .build();
+
+        var authorizedClientManager = new AuthorizedClientServiceReactiveOAuth2AuthorizedClientManager(
+                clientRegistrationRepository, clientService);
+
+        authorizedClientManager.setAuthorizedClientProvider(authorizedClientProvider);
+
+        return authorizedClientManager;
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.springboottests.configuration.oauth2;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OAuth2AuthorizedClientManager} refreshing access tokens ahead of their expiry.
+ * <p>
+ * A token is served from the {@link OAuth2AuthorizedClientService} as long as it does not expire within
+ * the refresh-ahead window. Tokens entering that window are fetched again by a background task,
+ * so outbound calls do not wait for the token endpoint. If a caller still has to fetch a token,
+ * concurrent callers for the same client share a single request to the token endpoint.
+ * <p>
+ * The fetch latency is reported by the {@code oauth2.client.token.refresh} timer and
+ * the age of the current token by the {@code oauth2.client.token.age} gauge.
+ *
+ * @author Georgii Lvov
+ */
+@Slf4j
+public class RefreshAheadAuthorizedClientManager implements OAuth2AuthorizedClientManager, AutoCloseable {
+
+    private final OAuth2AuthorizedClientManager delegate;
+    private final OAuth2AuthorizedClientService clientService;
+    private final Duration refreshAhead;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final Timer refreshTimer;
+
+    private final ConcurrentMap<ClientKey, CompletableFuture<OAuth2AuthorizedClient>> inFlight =
+            new ConcurrentHashMap<>();
+    private final ConcurrentMap<ClientKey, Boolean> knownClients = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    public RefreshAheadAuthorizedClientManager(OAuth2AuthorizedClientManager delegate,
+                                               OAuth2AuthorizedClientService clientService,
+                                               Duration refreshAhead,
+                                               Clock clock,
+                                               MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.clientService = clientService;
+        this.refreshAhead = refreshAhead;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.refreshTimer = meterRegistry.timer("oauth2.client.token.refresh");
+    }
+
+    /**
+     * Starts the background refresh of the tokens used so far.
+     *
+     * @param refreshInterval The interval of checking the tokens for upcoming expiry.
+     */
+    public void start(Duration refreshInterval) {
+        scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("oauth2-token-refresh-"));
+        scheduler.scheduleWithFixedDelay(
+                this::refreshExpiring,
+                refreshInterval.toMillis(),
+                refreshInterval.toMillis(),
+                TimeUnit.MILLISECONDS
+        );
+    }
+
+    @Override
+    public OAuth2AuthorizedClient authorize(OAuth2AuthorizeRequest authorizeRequest) {
+        ClientKey key = new ClientKey(authorizeRequest.getClientRegistrationId(), authorizeRequest.getPrincipal().getName());
+
+        register(key);
+
+        OAuth2AuthorizedClient authorizedClient = load(key);
+
+        if (authorizedClient != null && !expiresSoon(authorizedClient)) {
+            return authorizedClient;
+        }
+
+        return authorizeOnce(key, authorizeRequest);
+    }
+
+    /**
+     * Fetches new tokens for all known clients whose token is missing or expires within the refresh-ahead window.
+     * Called periodically once {@link #start started}.
+     */
+    public void refreshExpiring() {
+        knownClients.keySet().forEach(key -> {
+            OAuth2AuthorizedClient authorizedClient = load(key);
+
+            if (authorizedClient != null && !expiresSoon(authorizedClient)) {
+                return;
+            }
+
+            try {
+                authorizeOnce(key, OAuth2AuthorizeRequest.withClientRegistrationId(key.registrationId())
+                        .principal(key.principalName())
+                        .build());
+
+                log.debug("Access token of client {} refreshed ahead of expiry", key.registrationId());
+            } catch (RuntimeException e) {
+                log.warn("Failed to refresh access token of client {}", key.registrationId(), e);
+            }
+        });
+    }
+
+    /**
+     * Removes the token of the client, so that the next call fetches a new one.
+     *
+     * @param registrationId The registration ID of the client.
+     * @param principalName  The name of the principal the token has been issued for.
+     */
+    public void invalidate(String registrationId, String principalName) {
+        clientService.removeAuthorizedClient(registrationId, principalName);
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private OAuth2AuthorizedClient authorizeOnce(ClientKey key, OAuth2AuthorizeRequest authorizeRequest) {
+        CompletableFuture<OAuth2AuthorizedClient> fetch = new CompletableFuture<>();
+        CompletableFuture<OAuth2AuthorizedClient> running = inFlight.putIfAbsent(key, fetch);
+
+        if (running != null) {
+            return await(running);
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        try {
+            OAuth2AuthorizedClient authorizedClient = delegate.authorize(authorizeRequest);
+            fetch.complete(authorizedClient);
+            return authorizedClient;
+        } catch (RuntimeException e) {
+            fetch.completeExceptionally(e);
+            throw e;
+        } finally {
+            sample.stop(refreshTimer);
+            inFlight.remove(key, fetch);
+        }
+    }
+
+    private void register(ClientKey key) {
+        if (knownClients.putIfAbsent(key, Boolean.TRUE) == null) {
+            Gauge.builder("oauth2.client.token.age", () -> tokenAgeSeconds(key))
+                    .tag("registration", key.registrationId())
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    private double tokenAgeSeconds(ClientKey key) {
+        OAuth2AuthorizedClient authorizedClient = load(key);
+        Instant issuedAt = authorizedClient != null ? authorizedClient.getAccessToken().getIssuedAt() : null;
+
+        return issuedAt != null ? Duration.between(issuedAt, clock.instant()).toMillis() / 1000.0 : Double.NaN;
+    }
+
+    private OAuth2AuthorizedClient load(ClientKey key) {
+        return clientService.loadAuthorizedClient(key.registrationId(), key.principalName());
+    }
+
+    private boolean expiresSoon(OAuth2AuthorizedClient authorizedClient) {
+        OAuth2AccessToken accessToken = authorizedClient.getAccessToken();
+
+        return accessToken.getExpiresAt() != null
+                && !clock.instant().plus(refreshAhead).isBefore(accessToken.getExpiresAt());
+    }
+
+    private static OAuth2AuthorizedClient await(CompletableFuture<OAuth2AuthorizedClient> fetch) {
+        try {
+            return fetch.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record ClientKey(String registrationId, String principalName) {
+    }
+}
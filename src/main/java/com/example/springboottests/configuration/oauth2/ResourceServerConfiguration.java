@@ -1,34 +1,49 @@
 package com.example.springboottests.configuration.oauth2;
 
-import jakarta.servlet.http.HttpServletRequest;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
-import org.springframework.security.oauth2.core.OAuth2TokenValidator;
 import org.springframework.security.oauth2.jwt.*;
 import org.springframework.security.web.SecurityFilterChain;
 
-import java.util.List;
-import java.util.Objects;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Clock;
 
 /**
  * Configuration class for the resource server, responsible for handling JWT authentication and authorization.
- * This class configures security filters and adds custom token validation for incoming requests.
+ * This class configures security filters and authorizes incoming requests by the custom operation claim.
  *
  * @author Georgii Lvov
  */
 @Configuration
+@EnableConfigurationProperties(JwtDecoderProperties.class)
 public class ResourceServerConfiguration {
 
     @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}")
     private String issuerUri;
 
+    @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}")
+    private String jwkSetUri;
+
     /**
      * Configures the security filter chain for HTTP requests.
+     * Authenticated requests are only authorized if the operation claim of the token matches the request method,
+     * see {@link OperationClaimAuthorizationManager}. Only the health endpoint of the actuator is public,
+     * the metrics expose the internals of the application and require a token as any other request.
      *
      * @param http HttpSecurity object
      */
@@ -36,36 +51,66 @@ public class ResourceServerConfiguration {
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
 
         return http.authorizeHttpRequests(configurer -> configurer
-                        .requestMatchers("/actuator/**", "/error")
+                        .requestMatchers("/actuator/health/**", "/error")
                         .permitAll()
                         .anyRequest()
-                        .authenticated())
+                        .access(new OperationClaimAuthorizationManager()))
                 .sessionManagement(configurer -> configurer.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .oauth2ResourceServer(configurer -> configurer.jwt(Customizer.withDefaults()))
                 .build();
     }
 
     /**
-     * Bean of {@link JwtDecoder} type with two additional {@link JwtClaimValidator} validators
-     * to validate custom operation claim.
+     * Bean of {@link JwtDecoder} type validating the issuer and the timestamps of the token.
+     * <p>
+     * The keys are read from the JWK set URI, so no discovery request is made at startup. The JWK set is
+     * cached and refreshed in the background ahead of its expiry, and validated tokens are
+     * cached until they expire, see {@link CachingJwtDecoder}.
      *
-     * @param request HttpServletRequest
+     * @param properties    Caching settings
+     * @param meterRegistry MeterRegistry to report the token cache metrics to, if available
      * @return JwtDecoder
      */
     @Bean
-    public JwtDecoder jwtDecoder(HttpServletRequest request) {
-        NimbusJwtDecoder jwtDecoder = JwtDecoders.fromIssuerLocation(issuerUri);
-
-        List<OAuth2TokenValidator<Jwt>> validators = List.of(
-                JwtValidators.createDefaultWithIssuer(issuerUri),
-                new JwtClaimValidator<>(
-                        "operation",
-                        claimValue -> Objects.equals(claimValue, request.getMethod())
-                )
+    public JwtDecoder jwtDecoder(JwtDecoderProperties properties,
+                                 ObjectProvider<MeterRegistry> meterRegistry) throws MalformedURLException {
+        NimbusJwtDecoder jwtDecoder = new NimbusJwtDecoder(jwtProcessor(properties.getJwkSet()));
+
+        jwtDecoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+
+        JwtDecoderProperties.TokenCache tokenCache = properties.getTokenCache();
+
+        if (!tokenCache.isEnabled()) {
+            return jwtDecoder;
+        }
+
+        CachingJwtDecoder cachingJwtDecoder = new CachingJwtDecoder(
+                jwtDecoder,
+                tokenCache.getMaximumSize(),
+                tokenCache.getMaxTtl(),
+                Clock.systemUTC()
         );
 
-        jwtDecoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(validators));
+        meterRegistry.ifAvailable(registry ->
+                CaffeineCacheMetrics.monitor(registry, cachingJwtDecoder.getCache(), "jwt.tokens"));
+
+        return cachingJwtDecoder;
+    }
+
+    private DefaultJWTProcessor<SecurityContext> jwtProcessor(JwtDecoderProperties.JwkSet jwkSet)
+            throws MalformedURLException {
+        JWKSource<SecurityContext> jwkSource = JWKSourceBuilder.<SecurityContext>create(new URL(jwkSetUri))
+                .cache(jwkSet.getTtl().toMillis(), jwkSet.getRefreshTimeout().toMillis())
+                .refreshAheadCache(jwkSet.getRefreshAhead().toMillis(), true)
+                .retrying(true)
+                .build();
+
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        // claims are validated by the Spring Security validators
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
 
-        return jwtDecoder;
+        return jwtProcessor;
     }
 }
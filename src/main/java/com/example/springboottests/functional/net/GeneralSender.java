@@ -3,8 +3,8 @@ package com.example.springboottests.functional.net;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
-import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
@@ -25,6 +25,9 @@ import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
 public class GeneralSender {
 
     private final WebClient webClient;
+    private final SenderRetry senderRetry;
+    private final SenderCircuitBreaker senderCircuitBreaker;
+    private final PayloadEncoder payloadEncoder;
 
     /**
      * Sends an HTTP request with retry logic in case of certain exceptions.
@@ -37,34 +40,74 @@ public class GeneralSender {
      * @return              The response body.
      * @throws SenderPermanentException if there is a permanent failure in sending the request.
      * @throws PreConditionException if the response status is 412.
+     * @throws SenderUnavailableException if the destination is considered unavailable by its circuit breaker.
      */
-    @Retryable(interceptor = "preConditionExceptionInterceptor")
     public <T> T send(String url, HttpMethod method, Object message, Consumer<HttpHeaders> headers,
                       Class<T> responseType) {
-        try {
-            log.debug("Sending request: {} {}, body: {}", method, url, message);
-
-            ResponseEntity<T> response = webClient
-                    .method(method)
-                    .uri(URI.create(url))
-                    .headers(headers)
-                    .body(Mono.justOrEmpty(message), Object.class)
-                    .retrieve()
-                    .toEntity(responseType)
-                    .block();
-
-            log.debug("Request was sent successfully! Response: {}", response);
-
-            return (responseType != Void.class && response != null)
-                    ? response.getBody()
-                    : null;
-
-        } catch (WebClientResponseException e) {
-            throw wrapWebClientResponseException(e);
+        return sendAsync(url, method, message, headers, responseType).block();
+    }
+
+    /**
+     * Sends an HTTP request without blocking the calling thread.
+     * <p>
+     * Errors are mapped the same way as in {@link #send}, and the request is retried on
+     * {@link PreConditionException} by {@link SenderRetry} according to the {@code retry.*} policy of the URL.
+     * Every attempt is guarded by the circuit breaker and the bulkhead of {@link SenderCircuitBreaker}.
+     * Use {@link Mono#toFuture()} if a {@link java.util.concurrent.CompletableFuture} is required.
+     *
+     * @param url           The URL to send the request to.
+     * @param method        The HTTP method of the request.
+     * @param message       The request body.
+     * @param headers       The HTTP headers of the request.
+     * @param responseType  The expected response type.
+     * @return              Mono emitting the response body, or empty for {@link Void} responses.
+     */
+    public <T> Mono<T> sendAsync(String url, HttpMethod method, Object message, Consumer<HttpHeaders> headers,
+                                 Class<T> responseType) {
+        Mono<T> exchange = exchange(url, method, message, headers, responseType);
+
+        return senderRetry.apply(url, senderCircuitBreaker.apply(url, exchange));
+    }
+
+    private <T> Mono<T> exchange(String url, HttpMethod method, Object message, Consumer<HttpHeaders> headers,
+                                 Class<T> responseType) {
+        return Mono.defer(() -> {
+                    log.debug("Sending request: {} {}, body: {}", method, url, message);
+
+                    WebClient.RequestBodySpec request = webClient
+                            .method(method)
+                            .uri(URI.create(url))
+                            .headers(headers);
+
+                    return withBody(request, message)
+                            .retrieve()
+                            .toEntity(responseType);
+                })
+                .doOnNext(response -> log.debug("Request was sent successfully! Response: {}", response))
+                .mapNotNull(response -> responseType != Void.class ? response.getBody() : null)
+                .onErrorMap(this::wrapException);
+    }
+
+    private WebClient.RequestHeadersSpec<?> withBody(WebClient.RequestBodySpec request, Object message) {
+        if (message == null) {
+            return request;
         }
-        catch (Exception e) {
-            throw new SenderPermanentException("Failed to send request!", e);
+
+        if (!payloadEncoder.isPreSerialized(message)) {
+            request.headers(httpHeaders -> {
+                if (httpHeaders.getContentType() == null) {
+                    httpHeaders.setContentType(MediaType.APPLICATION_JSON);
+                }
+            });
         }
+
+        return request.body(BodyInserters.fromDataBuffers(payloadEncoder.encode(message)));
+    }
+
+    private RuntimeException wrapException(Throwable e) {
+        return e instanceof WebClientResponseException responseException
+                ? wrapWebClientResponseException(responseException)
+                : new SenderPermanentException("Failed to send request!", e);
     }
 
     private RuntimeException wrapWebClientResponseException(WebClientResponseException e) {
@@ -0,0 +1,73 @@
+package com.example.springboottests.functional.net;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.core.io.buffer.PooledDataBuffer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encodes request bodies into pooled Netty buffers.
+ * <p>
+ * Payloads are serialized to JSON with an {@link ObjectWriter} resolved once per payload class and cached,
+ * so neither the body type nor its serializer is looked up again per request. The JSON is written straight into
+ * a buffer of the pooled allocator, which Reactor Netty passes on to the channel without copying and releases
+ * once written. Byte array payloads are treated as pre-serialized and wrapped as they are.
+ *
+ * @author Georgii Lvov
+ */
+@Component
+public class PayloadEncoder {
+
+    private final ObjectMapper objectMapper;
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+    private final Map<Class<?>, ObjectWriter> writersByType = new ConcurrentHashMap<>();
+
+    public PayloadEncoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Encodes the payload lazily, i.e. once per subscription.
+     *
+     * @param payload The request body, a byte array is used as is.
+     * @return Mono emitting the buffer with the encoded payload.
+     * @throws SenderPermanentException signalled by the Mono if the payload cannot be serialized.
+     */
+    public Mono<DataBuffer> encode(Object payload) {
+        return Mono.fromCallable(() -> payload instanceof byte[] bytes ? bufferFactory.wrap(bytes) : write(payload))
+                .doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * Whether the payload is pre-serialized and thus sent without encoding.
+     *
+     * @param payload The request body.
+     * @return {@code true} for byte array payloads.
+     */
+    public boolean isPreSerialized(Object payload) {
+        return payload instanceof byte[];
+    }
+
+    private DataBuffer write(Object payload) {
+        ObjectWriter writer = writersByType.computeIfAbsent(payload.getClass(), objectMapper::writerFor);
+        DataBuffer buffer = bufferFactory.allocateBuffer(256);
+
+        try (OutputStream outputStream = buffer.asOutputStream()) {
+            writer.writeValue(outputStream, payload);
+            return buffer;
+        } catch (IOException e) {
+            DataBufferUtils.release(buffer);
+            throw new SenderPermanentException("Failed to encode request body!", e);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.example.springboottests.functional.net;
+
+import com.example.springboottests.configuration.CircuitBreakerProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Guards requests with a circuit breaker and a concurrency bulkhead per destination.
+ * <p>
+ * The circuit opens once the rate of failed or slow calls among the most recent calls reaches its threshold.
+ * While open, requests fail immediately with {@link SenderUnavailableException}. After the wait duration,
+ * a limited number of probe calls is let through: the circuit closes if all of them succeed and opens again otherwise.
+ * Independently of the circuit state, requests exceeding the maximum number of concurrent calls are rejected
+ * with {@link SenderUnavailableException} as well, so a slow destination cannot occupy all threads.
+ * <p>
+ * Only server errors and transport errors, such as refused connections and timeouts, count as failed calls.
+ * A 412 or other client errors and local errors, such as a request body failing to be encoded, do not.
+ * State transitions and rejections are counted per target, the current state is exposed as a gauge.
+ *
+ * @author Georgii Lvov
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SenderCircuitBreaker {
+
+    private final CircuitBreakerProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Breaker> breakersByUrl = new ConcurrentHashMap<>();
+    private final Map<String, Breaker> breakersByName = new ConcurrentHashMap<>();
+
+    /**
+     * Applies the circuit breaker and the bulkhead of the destination of the given URL to the request.
+     *
+     * @param url      The URL the request is sent to.
+     * @param exchange The request, subscribed once per permitted call.
+     * @param <T>      The response type.
+     * @return The request guarded by the circuit breaker, failing with {@link SenderUnavailableException} if rejected.
+     */
+    public <T> Mono<T> apply(String url, Mono<T> exchange) {
+        if (!properties.isEnabled()) {
+            return exchange;
+        }
+
+        Breaker breaker = breakersByUrl.computeIfAbsent(url, this::resolveBreaker);
+
+        return Mono.defer(() -> {
+            Permit permit;
+
+            try {
+                permit = breaker.acquire();
+            } catch (SenderUnavailableException e) {
+                return Mono.error(e);
+            }
+
+            long startNanos = System.nanoTime();
+
+            return exchange
+                    .doOnSuccess(result -> breaker.onComplete(permit, false, isSlow(breaker, startNanos)))
+                    .doOnError(e -> breaker.onComplete(permit, isFailure(e), isSlow(breaker, startNanos)))
+                    .doOnCancel(() -> breaker.onCancel(permit));
+        });
+    }
+
+    private static boolean isSlow(Breaker breaker, long startNanos) {
+        return System.nanoTime() - startNanos >= breaker.policy.slowCallDuration().toNanos();
+    }
+
+    private static boolean isFailure(Throwable e) {
+        if (e instanceof PreConditionException) {
+            return false;
+        }
+
+        Throwable cause = e instanceof SenderPermanentException ? e.getCause() : e;
+
+        if (cause instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError();
+        }
+
+        // encoding errors of the request body are signalled as WebClientRequestException as well
+        return cause instanceof WebClientRequestException requestException
+                && !(requestException.getCause() instanceof SenderPermanentException);
+    }
+
+    private Breaker resolveBreaker(String url) {
+        return properties.getTargets().entrySet().stream()
+                .filter(entry -> entry.getValue().getUrl() != null && url.startsWith(entry.getValue().getUrl()))
+                .findFirst()
+                .map(entry -> breakersByName.computeIfAbsent(entry.getKey(),
+                        name -> new Breaker(name, policyOf(entry.getValue()), meterRegistry)))
+                .orElseGet(() -> breakersByName.computeIfAbsent(URI.create(url).getAuthority(),
+                        name -> new Breaker(name, policyOf(new CircuitBreakerProperties.Target()), meterRegistry)));
+    }
+
+    private Policy policyOf(CircuitBreakerProperties.Target target) {
+        return new Policy(
+                Objects.requireNonNullElse(target.getFailureRateThreshold(), properties.getFailureRateThreshold()),
+                Objects.requireNonNullElse(target.getSlowCallDuration(), properties.getSlowCallDuration()),
+                Objects.requireNonNullElse(target.getSlowCallRateThreshold(), properties.getSlowCallRateThreshold()),
+                Objects.requireNonNullElse(target.getSlidingWindowSize(), properties.getSlidingWindowSize()),
+                Objects.requireNonNullElse(target.getMinimumNumberOfCalls(), properties.getMinimumNumberOfCalls()),
+                Objects.requireNonNullElse(target.getWaitDurationInOpenState(), properties.getWaitDurationInOpenState()),
+                Objects.requireNonNullElse(target.getPermittedCallsInHalfOpenState(),
+                        properties.getPermittedCallsInHalfOpenState()),
+                Objects.requireNonNullElse(target.getMaxConcurrentCalls(), properties.getMaxConcurrentCalls())
+        );
+    }
+
+    private enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private record Policy(double failureRateThreshold, Duration slowCallDuration, double slowCallRateThreshold,
+                          int slidingWindowSize, int minimumNumberOfCalls, Duration waitDurationInOpenState,
+                          int permittedCallsInHalfOpenState, int maxConcurrentCalls) {
+    }
+
+    /**
+     * Permission to perform a single call, released exactly once.
+     *
+     * @param generation The state generation the call was permitted in, outcomes of older generations are ignored.
+     */
+    private record Permit(long generation, AtomicBoolean released) {
+
+        Permit(long generation) {
+            this(generation, new AtomicBoolean());
+        }
+
+        boolean release() {
+            return released.compareAndSet(false, true);
+        }
+    }
+
+    private static final class Breaker {
+
+        private final String name;
+        private final Policy policy;
+        private final Semaphore bulkhead;
+        private final MeterRegistry meterRegistry;
+        private final Counter circuitOpenRejections;
+        private final Counter bulkheadFullRejections;
+
+        private final boolean[] failedCalls;
+        private final boolean[] slowCalls;
+
+        private volatile State state = State.CLOSED;
+        private long generation;
+        private long openedAtNanos;
+        private int windowIndex;
+        private int windowCount;
+        private int failedCount;
+        private int slowCount;
+        private int probesInFlight;
+        private int probeSuccesses;
+
+        private Breaker(String name, Policy policy, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.policy = policy;
+            this.bulkhead = new Semaphore(policy.maxConcurrentCalls());
+            this.meterRegistry = meterRegistry;
+            this.circuitOpenRejections =
+                    meterRegistry.counter("sender.circuit-breaker.rejections", "target", name, "reason", "circuit-open");
+            this.bulkheadFullRejections =
+                    meterRegistry.counter("sender.circuit-breaker.rejections", "target", name, "reason", "bulkhead-full");
+            this.failedCalls = new boolean[policy.slidingWindowSize()];
+            this.slowCalls = new boolean[policy.slidingWindowSize()];
+
+            Gauge.builder("sender.circuit-breaker.state", this, breaker -> breaker.state.ordinal())
+                    .description("0 - closed, 1 - open, 2 - half-open")
+                    .tag("target", name)
+                    .register(meterRegistry);
+            Gauge.builder("sender.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                    .tag("target", name)
+                    .register(meterRegistry);
+        }
+
+        private Permit acquire() {
+            if (!bulkhead.tryAcquire()) {
+                bulkheadFullRejections.increment();
+                throw new SenderUnavailableException("Maximum number of concurrent calls reached for target '"
+                        + name + "'");
+            }
+
+            synchronized (this) {
+                if (state == State.OPEN
+                        && System.nanoTime() - openedAtNanos >= policy.waitDurationInOpenState().toNanos()) {
+                    transitionTo(State.HALF_OPEN);
+                }
+
+                if (state == State.OPEN
+                        || state == State.HALF_OPEN && probesInFlight >= policy.permittedCallsInHalfOpenState()) {
+                    bulkhead.release();
+                    circuitOpenRejections.increment();
+                    throw new SenderUnavailableException("Circuit of target '" + name + "' is open");
+                }
+
+                if (state == State.HALF_OPEN) {
+                    probesInFlight++;
+                }
+
+                return new Permit(generation);
+            }
+        }
+
+        private void onComplete(Permit permit, boolean failed, boolean slow) {
+            if (!permit.release()) {
+                return;
+            }
+
+            bulkhead.release();
+
+            synchronized (this) {
+                if (permit.generation() != generation) {
+                    return;
+                }
+
+                if (state == State.HALF_OPEN) {
+                    probesInFlight--;
+
+                    if (failed || slow) {
+                        transitionTo(State.OPEN);
+                    } else if (++probeSuccesses >= policy.permittedCallsInHalfOpenState()) {
+                        transitionTo(State.CLOSED);
+                    }
+                    return;
+                }
+
+                record(failed, slow);
+
+                if (windowCount >= policy.minimumNumberOfCalls()
+                        && (failedCount * 100.0 / windowCount >= policy.failureRateThreshold()
+                        || slowCount * 100.0 / windowCount >= policy.slowCallRateThreshold())) {
+                    transitionTo(State.OPEN);
+                }
+            }
+        }
+
+        private void onCancel(Permit permit) {
+            if (!permit.release()) {
+                return;
+            }
+
+            bulkhead.release();
+
+            synchronized (this) {
+                if (permit.generation() == generation && state == State.HALF_OPEN) {
+                    probesInFlight--;
+                }
+            }
+        }
+
+        private void record(boolean failed, boolean slow) {
+            if (windowCount == failedCalls.length) {
+                failedCount -= failedCalls[windowIndex] ? 1 : 0;
+                slowCount -= slowCalls[windowIndex] ? 1 : 0;
+            } else {
+                windowCount++;
+            }
+
+            failedCalls[windowIndex] = failed;
+            slowCalls[windowIndex] = slow;
+            failedCount += failed ? 1 : 0;
+            slowCount += slow ? 1 : 0;
+            windowIndex = (windowIndex + 1) % failedCalls.length;
+        }
+
+        private void transitionTo(State next) {
+            log.warn("Circuit of target '{}' transitions from {} to {}", name, state, next);
+
+            meterRegistry.counter("sender.circuit-breaker.transitions",
+                    "target", name, "from", state.name().toLowerCase(), "to", next.name().toLowerCase()).increment();
+
+            state = next;
+            generation++;
+
+            switch (next) {
+                case OPEN -> openedAtNanos = System.nanoTime();
+                case HALF_OPEN -> {
+                    probesInFlight = 0;
+                    probeSuccesses = 0;
+                }
+                case CLOSED -> {
+                    windowIndex = 0;
+                    windowCount = 0;
+                    failedCount = 0;
+                    slowCount = 0;
+                }
+            }
+        }
+    }
+}
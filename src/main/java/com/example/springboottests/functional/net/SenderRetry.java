@@ -0,0 +1,140 @@
+package com.example.springboottests.functional.net;
+
+import com.example.springboottests.configuration.RetryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Retries requests failed with {@link PreConditionException} inside the reactive pipeline.
+ * <p>
+ * Delays grow exponentially and are fully jittered, i.e. picked at random between zero and
+ * the current bound. Waiting is done with {@link Mono#delay}, so no thread is blocked between attempts.
+ * Attempts, successes after retrying and exhaustions are counted per target.
+ *
+ * @author Georgii Lvov
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SenderRetry {
+
+    private static final String DEFAULT_TARGET = "default";
+
+    private final RetryProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Target> targetsByUrl = new ConcurrentHashMap<>();
+
+    /**
+     * Applies the retry policy configured for the given URL to the request.
+     *
+     * @param url      The URL the request is sent to.
+     * @param exchange The request, subscribed again for every attempt.
+     * @param <T>      The response type.
+     * @return The request with retries applied.
+     */
+    public <T> Mono<T> apply(String url, Mono<T> exchange) {
+        Target target = targetsByUrl.computeIfAbsent(url, this::resolveTarget);
+
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            AtomicBoolean retried = new AtomicBoolean();
+
+            return exchange
+                    .retryWhen(Retry.from(signals -> signals.concatMap(signal ->
+                            nextAttempt(target, signal, startNanos, retried))))
+                    .doOnSuccess(result -> {
+                        if (retried.get()) {
+                            target.successes.increment();
+                        }
+                    });
+        });
+    }
+
+    private Mono<Long> nextAttempt(Target target, Retry.RetrySignal signal, long startNanos, AtomicBoolean retried) {
+        Throwable failure = signal.failure();
+
+        if (!(failure instanceof PreConditionException)) {
+            return Mono.error(failure);
+        }
+
+        Policy policy = target.policy;
+        long retryIndex = signal.totalRetries();
+        Duration delay = policy.backoff(retryIndex);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+
+        if (retryIndex + 1 >= policy.maxAttempts() || elapsed.plus(delay).compareTo(policy.maxElapsed()) > 0) {
+            log.warn("Retries exhausted for target '{}' after {} attempt(s) and {} ms",
+                    target.name, retryIndex + 1, elapsed.toMillis());
+            target.exhaustions.increment();
+            return Mono.error(failure);
+        }
+
+        log.debug("Retrying request to target '{}' in {} ms", target.name, delay.toMillis());
+
+        retried.set(true);
+        target.attempts.increment();
+
+        return Mono.delay(delay);
+    }
+
+    private Target resolveTarget(String url) {
+        return properties.getTargets().entrySet().stream()
+                .filter(entry -> entry.getValue().getUrl() != null && url.startsWith(entry.getValue().getUrl()))
+                .findFirst()
+                .map(entry -> new Target(entry.getKey(), policyOf(entry.getValue()), meterRegistry))
+                .orElseGet(() -> new Target(DEFAULT_TARGET, policyOf(new RetryProperties.Target()), meterRegistry));
+    }
+
+    private Policy policyOf(RetryProperties.Target target) {
+        return new Policy(
+                Objects.requireNonNullElse(target.getMaxAttempts(), properties.getMaxAttempts()),
+                Objects.requireNonNullElse(target.getInitialBackoff(), properties.getInitialBackoff()),
+                Objects.requireNonNullElse(target.getMaxBackoff(), properties.getMaxBackoff()),
+                Objects.requireNonNullElse(target.getMultiplier(), properties.getMultiplier()),
+                Objects.requireNonNullElse(target.getMaxElapsed(), properties.getMaxElapsed())
+        );
+    }
+
+    private record Policy(int maxAttempts, Duration initialBackoff, Duration maxBackoff, double multiplier,
+                          Duration maxElapsed) {
+
+        Duration backoff(long retryIndex) {
+            double bound = Math.min(
+                    initialBackoff.toMillis() * Math.pow(multiplier, retryIndex),
+                    maxBackoff.toMillis()
+            );
+
+            return Duration.ofMillis((long) (ThreadLocalRandom.current().nextDouble() * bound));
+        }
+    }
+
+    private static final class Target {
+
+        private final String name;
+        private final Policy policy;
+        private final Counter attempts;
+        private final Counter successes;
+        private final Counter exhaustions;
+
+        private Target(String name, Policy policy, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.policy = policy;
+            this.attempts = meterRegistry.counter("sender.retry.attempts", "target", name);
+            this.successes = meterRegistry.counter("sender.retry.successes", "target", name);
+            this.exhaustions = meterRegistry.counter("sender.retry.exhaustions", "target", name);
+        }
+    }
+}
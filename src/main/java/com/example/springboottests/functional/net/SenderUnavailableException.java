@@ -0,0 +1,12 @@
+package com.example.springboottests.functional.net;
+
+/**
+ * Thrown without sending the request if the circuit of the destination is open
+ * or its maximum number of concurrent calls is reached.
+ * The destination is expected to become available again, so the request may be repeated later.
+ */
+public class SenderUnavailableException extends RuntimeException {
+    public SenderUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.springboottests.functional.note;
+
+import com.example.springboottests.functional.net.SenderUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.jms.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMS consumer processing messages in batches within one transacted session.
+ * <p>
+ * Used instead of {@link MqListener} if {@code queue.batch.enabled} is set. Each consumer receives up to
+ * {@code queue.batch.max-messages} messages, waiting at most {@code queue.batch.max-wait-ms} after the first one,
+ * processes them and commits the session once. Errors are handled per message by {@link SessionErrorHandler}:
+ * a message failed with an error not requiring a rollback is skipped, otherwise the whole batch is rolled back
+ * and redelivered. A batch failed because of an unavailable destination is rolled back after a back-off.
+ * <p>
+ * Messages of a batch are processed as a pipeline: up to {@code queue.batch.max-in-flight} Note-Service requests
+ * are outstanding at a time, and the session is committed only after all of them have completed,
+ * so every committed message has been sent at least once.
+ * <p>
+ * On shutdown the consumers stop receiving and finish the batch in progress, waiting at most
+ * {@code queue.batch.shutdown-timeout-ms} for it. A batch not finished in time is abandoned uncommitted
+ * and redelivered.
+ *
+ * @author Georgii Lvov
+ */
+@Slf4j
+@Component
+public class BatchMqConsumer {
+
+    private static final long RECEIVE_TIMEOUT_MS = 1000;
+
+    private final ConnectionFactory connectionFactory;
+    private final NoteProcessor noteProcessor;
+    private final SessionErrorHandler errorHandler;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter rollbackCounter;
+
+    @Value("${queue.name}")
+    private String queueName;
+
+    @Value("${queue.batch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${queue.batch.consumers:1}")
+    private int consumers;
+
+    @Value("${queue.batch.max-messages:50}")
+    private int maxMessages;
+
+    @Value("${queue.batch.max-wait-ms:200}")
+    private long maxWaitMs;
+
+    @Value("${queue.batch.max-in-flight:1}")
+    private int maxInFlight;
+
+    @Value("${queue.batch.recovery-interval-ms:5000}")
+    private long recoveryIntervalMs;
+
+    @Value("${queue.batch.shutdown-timeout-ms:30000}")
+    private long shutdownTimeoutMs;
+
+    private volatile boolean running;
+    private ExecutorService executor;
+
+    public BatchMqConsumer(ConnectionFactory connectionFactory,
+                           NoteProcessor noteProcessor,
+                           SessionErrorHandler errorHandler,
+                           MeterRegistry meterRegistry) {
+        this.connectionFactory = connectionFactory;
+        this.noteProcessor = noteProcessor;
+        this.errorHandler = errorHandler;
+        this.batchSizeSummary = meterRegistry.summary("mq.batch.size");
+        this.rollbackCounter = meterRegistry.counter("mq.batch.rollbacks");
+    }
+
+    /**
+     * Starts the batch consumers once the application is ready, if the batch mode is enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        running = true;
+        executor = Executors.newFixedThreadPool(consumers, new CustomizableThreadFactory("mq-batch-"));
+
+        for (int i = 0; i < consumers; i++) {
+            executor.execute(this::consume);
+        }
+
+        log.info("Batch JMS consumers started: {}", consumers);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+
+        if (executor == null) {
+            return;
+        }
+
+        executor.shutdown();
+
+        if (!executor.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+            log.warn("Batch JMS consumers did not finish within {} ms, the uncommitted messages will be redelivered",
+                    shutdownTimeoutMs);
+            executor.shutdownNow();
+        }
+    }
+
+    private void consume() {
+        while (running) {
+            try (Connection connection = connectionFactory.createConnection()) {
+                Session session = connection.createSession(true, Session.SESSION_TRANSACTED);
+                MessageConsumer consumer = session.createConsumer(session.createQueue(queueName));
+
+                connection.start();
+
+                while (running) {
+                    consumeBatch(session, consumer);
+                }
+            } catch (JMSException | RuntimeException e) {
+                log.error("JMS connection failed, reconnecting in {} ms", recoveryIntervalMs, e);
+                sleepBeforeRecovery();
+            }
+        }
+    }
+
+    private void consumeBatch(Session session, MessageConsumer consumer) throws JMSException {
+        List<Message> messages = receiveBatch(consumer);
+
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        log.debug("JMS session started. Received {} message(s) from the queue", messages.size());
+
+        List<String> bodies = new ArrayList<>(messages.size());
+
+        if (readBodies(messages, bodies) || mustRollback(process(bodies))) {
+            log.info("JMS session will be rolled back and {} message(s) redelivered", messages.size());
+            session.rollback();
+            rollbackCounter.increment();
+            return;
+        }
+
+        session.commit();
+        batchSizeSummary.record(messages.size());
+
+        log.debug("JMS session committed");
+    }
+
+    /**
+     * Reads the bodies of the messages into {@code bodies}, skipping the unreadable ones.
+     *
+     * @return {@code true} if a body could not be read and the batch must be rolled back.
+     */
+    private boolean readBodies(List<Message> messages, List<String> bodies) {
+        boolean mustRollback = false;
+
+        for (Message message : messages) {
+            try {
+                bodies.add(message.getBody(String.class));
+            } catch (Exception e) {
+                mustRollback |= errorHandler.handleBatchError(e, "JMSMessageID=" + messageId(message));
+            }
+        }
+
+        return mustRollback;
+    }
+
+    private static String messageId(Message message) {
+        try {
+            return message.getJMSMessageID();
+        } catch (JMSException e) {
+            return "unknown";
+        }
+    }
+
+    /**
+     * Processes the messages with at most {@code maxInFlight} of them in progress at a time
+     * and waits for all of them to complete.
+     *
+     * @return The errors requiring the batch to be rolled back, empty if it can be committed.
+     */
+    private List<Throwable> process(List<String> bodies) {
+        return Flux.fromIterable(bodies)
+                .flatMapSequential(body -> noteProcessor.processAsync(body)
+                        .then(Mono.<Throwable>empty())
+                        .onErrorResume(e -> errorHandler.handleBatchError(e, body) ? Mono.just(e) : Mono.empty()),
+                        maxInFlight)
+                .collectList()
+                .block();
+    }
+
+    /**
+     * Backs off on the consumer thread, and not on the thread the error has been signalled on,
+     * if the batch is rolled back because of an unavailable destination.
+     */
+    private boolean mustRollback(List<Throwable> rollbackCauses) {
+        rollbackCauses.stream()
+                .filter(SenderUnavailableException.class::isInstance)
+                .findFirst()
+                .ifPresent(errorHandler::backOffIfUnavailable);
+
+        return !rollbackCauses.isEmpty();
+    }
+
+    private List<Message> receiveBatch(MessageConsumer consumer) throws JMSException {
+        List<Message> messages = new ArrayList<>(maxMessages);
+
+        Message first = consumer.receive(RECEIVE_TIMEOUT_MS);
+
+        if (first == null) {
+            return messages;
+        }
+
+        messages.add(first);
+
+        long deadline = System.currentTimeMillis() + maxWaitMs;
+
+        while (messages.size() < maxMessages) {
+            long remaining = deadline - System.currentTimeMillis();
+            Message next = remaining > 0 ? consumer.receive(remaining) : consumer.receiveNoWait();
+
+            if (next == null) {
+                break;
+            }
+
+            messages.add(next);
+        }
+
+        return messages;
+    }
+
+    private void sleepBeforeRecovery() {
+        try {
+            Thread.sleep(recoveryIntervalMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -1,24 +1,53 @@
 package com.example.springboottests.functional.note;
 
 import com.example.springboottests.functional.note.model.Note;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import jakarta.jms.Session;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jms.annotation.JmsListener;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * JMS message listener component.
+ * <p>
+ * Reports the number of messages in flight per queue, and the processing time and the number of processed messages
+ * per consumer, tagged with the name of the consumer thread. The names are bounded by the maximum number of consumers,
+ * see {@link com.example.springboottests.configuration.JmsConfiguration#jmsListenerExecutor()}. Processed messages
+ * are counted by outcome: {@code success} if the message was processed and committed, {@code failure} if it was
+ * handed to the {@link SessionErrorHandler}.
  *
  * @author Georgii Lvov
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class MqListener {
 
     private final NoteProcessor noteProcessor;
     private final SessionErrorHandler errorHandler;
+    private final MeterRegistry meterRegistry;
+    private final String queueName;
+    private final AtomicInteger inFlight;
+    private final Map<String, ConsumerMeters> consumerMeters = new ConcurrentHashMap<>();
+
+    public MqListener(NoteProcessor noteProcessor,
+                      SessionErrorHandler errorHandler,
+                      MeterRegistry meterRegistry,
+                      @Value("${queue.name}") String queueName) {
+        this.noteProcessor = noteProcessor;
+        this.errorHandler = errorHandler;
+        this.meterRegistry = meterRegistry;
+        this.queueName = queueName;
+        this.inFlight = meterRegistry.gauge("mq.listener.in-flight", Tags.of("queue", queueName),
+                new AtomicInteger());
+    }
 
     /**
      * Listens for messages from the configured queue and processes them.
@@ -31,14 +60,38 @@ public class MqListener {
 
         log.debug("JMS session started. Received message from the queue:\n{}", message);
 
+        ConsumerMeters meters = consumerMeters.computeIfAbsent(Thread.currentThread().getName(), this::newMeters);
+        boolean succeeded = false;
+
+        inFlight.incrementAndGet();
+        Timer.Sample sample = Timer.start(meterRegistry);
+
         try {
             noteProcessor.process(message);
 
             session.commit();
+            succeeded = true;
 
             log.debug("JMS session committed");
         } catch (Exception e) {
             errorHandler.handleError(e, message, session);
+        } finally {
+            sample.stop(meters.processing());
+            inFlight.decrementAndGet();
+            (succeeded ? meters.succeeded() : meters.failed()).increment();
         }
     }
+
+    private ConsumerMeters newMeters(String consumer) {
+        Tags tags = Tags.of("queue", queueName, "consumer", consumer);
+
+        return new ConsumerMeters(
+                meterRegistry.timer("mq.listener.processing", tags),
+                meterRegistry.counter("mq.listener.messages", tags.and("outcome", "success")),
+                meterRegistry.counter("mq.listener.messages", tags.and("outcome", "failure"))
+        );
+    }
+
+    private record ConsumerMeters(Timer processing, Counter succeeded, Counter failed) {
+    }
 }
@@ -10,6 +10,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 /**
  * Service component for processing notes.
@@ -36,9 +37,7 @@ public class NoteProcessor {
      * @throws XmlConverterException if there is an error converting the XML message to a Note object.
      */
     public void process(String noteXml) {
-        Note note = xmlConverter.toObject(noteXml, Note.class);
-
-        NoteInfo noteInfo = new NoteInfo(note.noteId(), "PROCESSED");
+        NoteInfo noteInfo = toNoteInfo(noteXml);
 
         generalSender.send(
                 noteServiceUrl,
@@ -50,4 +49,30 @@ public class NoteProcessor {
 
         log.info("Note to Note-Service was sent successfully");
     }
+
+    /**
+     * Processes an incoming note XML message without blocking the calling thread.
+     * Behaves like {@link #process}, but any error, including {@link XmlConverterException}, is signalled by the
+     * returned Mono.
+     *
+     * @param noteXml The XML message representing the note.
+     * @return Mono completing when the note has been sent to the service.
+     */
+    public Mono<Void> processAsync(String noteXml) {
+        return Mono.fromCallable(() -> toNoteInfo(noteXml))
+                .flatMap(noteInfo -> generalSender.sendAsync(
+                        noteServiceUrl,
+                        HttpMethod.POST,
+                        noteInfo,
+                        httpHeaders -> httpHeaders.setContentType(MediaType.APPLICATION_JSON),
+                        Void.class
+                ))
+                .doOnSuccess(ignored -> log.info("Note to Note-Service was sent successfully"));
+    }
+
+    private NoteInfo toNoteInfo(String noteXml) {
+        Note note = xmlConverter.toObject(noteXml, Note.class);
+
+        return new NoteInfo(note.noteId(), "PROCESSED");
+    }
 }
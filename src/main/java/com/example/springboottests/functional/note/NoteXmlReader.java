@@ -0,0 +1,45 @@
+package com.example.springboottests.functional.note;
+
+import com.example.springboottests.functional.note.model.Note;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Streaming reader of {@link Note} messages.
+ * Only documents consisting of a root element with a single {@code noteId} child element are read,
+ * anything else is left to full databinding.
+ *
+ * @author Georgii Lvov
+ */
+@Component
+public class NoteXmlReader implements StreamingXmlReader<Note> {
+
+    private static final String NOTE_ID = "noteId";
+
+    @Override
+    public Class<Note> targetType() {
+        return Note.class;
+    }
+
+    @Override
+    public Note read(XMLStreamReader reader) throws XMLStreamException {
+        if (reader.getAttributeCount() > 0) {
+            return null;
+        }
+
+        String noteId = null;
+
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if (!NOTE_ID.equals(reader.getLocalName()) || reader.getAttributeCount() > 0 || noteId != null) {
+                return null;
+            }
+
+            noteId = reader.getElementText();
+        }
+
+        return new Note(noteId);
+    }
+}
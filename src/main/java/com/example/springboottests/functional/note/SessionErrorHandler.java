@@ -1,12 +1,18 @@
 package com.example.springboottests.functional.note;
 
+import com.example.springboottests.functional.net.SenderUnavailableException;
 import jakarta.jms.JMSException;
 import jakarta.jms.Session;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
  * Component responsible for handling session errors during JMS message processing.
+ * <p>
+ * If a message fails because its destination is unavailable, the session is rolled back only after
+ * {@code queue.unavailable-backoff-ms}. The message stays locked meanwhile, so it is not redelivered
+ * and failed again at once while the circuit of the destination is open.
  *
  * @author Georgii Lvov
  */
@@ -14,6 +20,9 @@ import org.springframework.stereotype.Component;
 @Component
 public class SessionErrorHandler {
 
+    @Value("${queue.unavailable-backoff-ms:5000}")
+    private long unavailableBackoffMs;
+
     /**
      * Handles errors that occur during message processing in a JMS session.
      * This method logs the error, determines whether the session should be rolled back or committed,
@@ -26,11 +35,61 @@ public class SessionErrorHandler {
     public void handleError(Throwable throwable, String message, Session session) {
         log.error(throwable.getMessage(), throwable);
 
-        boolean mustRollback = throwable.getClass() == JMSException.class;
+        boolean mustRollback = mustRollback(throwable);
+
+        if (mustRollback) {
+            backOffIfUnavailable(throwable);
+        }
 
         finishSession(session, message, mustRollback);
     }
 
+    /**
+     * Handles an error that occurred while processing a single message of a batch.
+     * Unlike {@link #handleError}, the session is not finished here: the caller rolls back the whole batch
+     * if required, or otherwise skips the message and commits the batch once all messages are processed.
+     *
+     * @param throwable The error or exception that occurred during message processing.
+     * @param message   The XML-message being processed.
+     * @return {@code true} if the batch must be rolled back and redelivered.
+     */
+    public boolean handleBatchError(Throwable throwable, String message) {
+        log.error(throwable.getMessage(), throwable);
+
+        boolean mustRollback = mustRollback(throwable);
+
+        if (!mustRollback) {
+            log.error("The following message, processed with an error, will be skipped " +
+                    "and not redelivered:\n{}", message);
+        }
+
+        return mustRollback;
+    }
+
+    /**
+     * Blocks the calling consumer for {@code queue.unavailable-backoff-ms} if the error has been caused
+     * by an unavailable destination. To be called before rolling back the session.
+     *
+     * @param throwable The error or exception that occurred during message processing.
+     */
+    public void backOffIfUnavailable(Throwable throwable) {
+        if (!(throwable instanceof SenderUnavailableException) || unavailableBackoffMs <= 0) {
+            return;
+        }
+
+        log.info("Destination is unavailable, the session will be rolled back in {} ms", unavailableBackoffMs);
+
+        try {
+            Thread.sleep(unavailableBackoffMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean mustRollback(Throwable throwable) {
+        return throwable.getClass() == JMSException.class || throwable instanceof SenderUnavailableException;
+    }
+
     private void finishSession(Session session, String message, boolean mustRollback) {
         try {
             if (mustRollback) {
@@ -0,0 +1,29 @@
+package com.example.springboottests.functional.note;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reader of a specific type pulling only the required elements from an XML stream.
+ * Registered in {@link XmlConverter} as a fast path replacing full databinding for its target type.
+ *
+ * @param <T> The type of the object read.
+ * @author Georgii Lvov
+ */
+public interface StreamingXmlReader<T> {
+
+    /**
+     * @return The class of the objects read by this reader.
+     */
+    Class<T> targetType();
+
+    /**
+     * Reads an object from the stream positioned at the start of the root element.
+     *
+     * @param reader The XML stream reader.
+     * @return The object read, or {@code null} if the document is not supported by this reader
+     * and must be deserialized with full databinding.
+     * @throws XMLStreamException if the document cannot be read.
+     */
+    T read(XMLStreamReader reader) throws XMLStreamException;
+}
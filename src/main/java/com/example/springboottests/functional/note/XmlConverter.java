@@ -6,9 +6,21 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Utility component for XML conversion.
  * This component provides methods to deserialize XML data into Java objects.
+ * <p>
+ * Classes with a registered {@link StreamingXmlReader} are read with it first, without building
+ * any intermediate representation. Documents not supported by the reader, and all other classes,
+ * are deserialized with full databinding.
  *
  * @author Georgii Lvov
  */
@@ -17,6 +29,22 @@ import org.springframework.util.Assert;
 public class XmlConverter {
 
     private static final XmlMapper XML_MAPPER  = new XmlMapper();
+    private static final XMLInputFactory XML_INPUT_FACTORY = XML_MAPPER.getFactory().getXMLInputFactory();
+
+    private final Map<Class<?>, StreamingXmlReader<?>> streamingReaders = new ConcurrentHashMap<>();
+
+    public XmlConverter(List<StreamingXmlReader<?>> streamingReaders) {
+        streamingReaders.forEach(this::registerStreamingReader);
+    }
+
+    /**
+     * Registers a streaming reader for its target class, replacing a previously registered one.
+     *
+     * @param reader The reader to register.
+     */
+    public void registerStreamingReader(StreamingXmlReader<?> reader) {
+        streamingReaders.put(reader.targetType(), reader);
+    }
 
     /**
      * Deserializes XML data into a Java object of the specified class.
@@ -34,7 +62,11 @@ public class XmlConverter {
 
             log.debug("Start deserializing XML to {}...", objectClass.getSimpleName());
 
-            T result = XML_MAPPER.readValue(xml, objectClass);
+            T result = readStreaming(xml, objectClass);
+
+            if (result == null) {
+                result = XML_MAPPER.readValue(xml, objectClass);
+            }
 
             log.debug("XML deserialization to {} was successful!", objectClass.getSimpleName());
 
@@ -43,4 +75,27 @@ public class XmlConverter {
             throw new XmlConverterException("Failed to convert XML-message to object!", e);
         }
     }
+
+    private <T> T readStreaming(String xml, Class<T> objectClass) {
+        StreamingXmlReader<?> reader = streamingReaders.get(objectClass);
+
+        if (reader == null) {
+            return null;
+        }
+
+        try {
+            XMLStreamReader streamReader = XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(xml));
+
+            try {
+                streamReader.nextTag();
+
+                return objectClass.cast(reader.read(streamReader));
+            } finally {
+                streamReader.close();
+            }
+        } catch (XMLStreamException e) {
+            log.debug("Streaming read of {} failed, falling back to databinding", objectClass.getSimpleName(), e);
+            return null;
+        }
+    }
 }
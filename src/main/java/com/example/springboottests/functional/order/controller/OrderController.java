@@ -1,14 +1,24 @@
 package com.example.springboottests.functional.order.controller;
 
+import com.example.springboottests.functional.order.exception.OrderVersionMismatchException;
+import com.example.springboottests.functional.order.model.OrderBulkRequest;
+import com.example.springboottests.functional.order.model.OrderBulkResult;
 import com.example.springboottests.functional.order.model.OrderDto;
 import com.example.springboottests.functional.order.model.OrderRequest;
+import com.example.springboottests.functional.order.service.OrderExporter;
 import com.example.springboottests.functional.order.service.OrderProcessor;
+import com.example.springboottests.functional.order.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 
 /**
  * Controller class for handling order-related requests.
@@ -21,11 +31,62 @@ import org.springframework.web.bind.annotation.*;
 public class OrderController {
 
     private final OrderProcessor orderProcessor;
+    private final OrderService orderService;
+    private final OrderExporter orderExporter;
+
+    /**
+     * Endpoint for reading an order.
+     *
+     * @param id    The ID of the order.
+     * @return      The order details, with the order version as ETag.
+     */
+    @GetMapping(
+            path = "/v1/orders/{id}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<OrderDto> getOrder(@PathVariable Long id) {
+        return withETag(orderService.findOrder(id));
+    }
+
+    /**
+     * Endpoint for looking up an order by its workorder ID.
+     *
+     * @param workorderId   The workorder ID of the order.
+     * @return              The order details, with the order version as ETag.
+     */
+    @GetMapping(
+            path = "/v1/orders",
+            params = "workorderId",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<OrderDto> getOrderByWorkorderId(@RequestParam String workorderId) {
+        return withETag(orderService.findOrderByWorkorderId(workorderId));
+    }
+
+    /**
+     * Endpoint for exporting all orders as newline-delimited JSON.
+     * The orders are streamed to the response without being collected in memory.
+     *
+     * @return  The orders ordered by ID, one per line.
+     */
+    @GetMapping(
+            path = "/v1/orders/export",
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public ResponseEntity<StreamingResponseBody> exportOrders() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(orderExporter::export);
+    }
 
     /**
      * Endpoint for updating an order.
+     * <p>
+     * The version of the updated order is returned as ETag. If an {@code If-Match} header is given,
+     * the order is only updated if it still has that version.
      *
      * @param id            The ID of the order to update.
+     * @param ifMatch       The optional ETag the order must match.
      * @param orderRequest  The order details for update.
      * @return              The updated order details.
      */
@@ -34,8 +95,55 @@ public class OrderController {
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE
     )
+    public ResponseEntity<OrderDto> updateOrder(@PathVariable Long id,
+                                                @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                @RequestBody @Valid OrderRequest orderRequest) {
+        OrderDto orderDto = orderProcessor.updateOrder(id, orderRequest, toExpectedVersion(id, ifMatch));
+
+        return withETag(orderDto);
+    }
+
+    /**
+     * Endpoint for updating several orders at once.
+     *
+     * @param orderBulkRequest  The IDs and the order details for update.
+     * @return                  The result for every order.
+     */
+    @PatchMapping(
+            path = "/v1/orders",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
     @ResponseStatus(HttpStatus.OK)
-    public OrderDto updateOrder(@PathVariable Long id, @RequestBody @Valid OrderRequest orderRequest) {
-        return orderProcessor.updateOrder(id, orderRequest);
+    public List<OrderBulkResult> updateOrders(@RequestBody @Valid OrderBulkRequest orderBulkRequest) {
+        return orderProcessor.updateOrders(orderBulkRequest.orders());
+    }
+
+    private static ResponseEntity<OrderDto> withETag(OrderDto orderDto) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+
+        if (orderDto.version() != null) {
+            response.eTag(String.valueOf(orderDto.version()));
+        }
+
+        return response.body(orderDto);
+    }
+
+    private static Long toExpectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+
+        String eTag = ifMatch.trim();
+
+        if (eTag.startsWith("W/")) {
+            eTag = eTag.substring(2);
+        }
+
+        try {
+            return Long.valueOf(eTag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new OrderVersionMismatchException("Order with id=" + id + " does not match If-Match " + ifMatch);
+        }
     }
 }
@@ -0,0 +1,7 @@
+package com.example.springboottests.functional.order.exception;
+
+public class OrderConflictException extends RuntimeException {
+    public OrderConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -55,6 +55,32 @@ public class OrderControllerAdvice {
         );
     }
 
+    @ExceptionHandler(OrderVersionMismatchException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ApiError handleOrderVersionMismatchException(OrderVersionMismatchException e) {
+        log.error(e.getMessage(), e);
+
+        return new ApiError(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                HttpStatus.PRECONDITION_FAILED.getReasonPhrase(),
+                e.getMessage(),
+                LocalDateTime.now()
+        );
+    }
+
+    @ExceptionHandler(OrderConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ApiError handleOrderConflictException(OrderConflictException e) {
+        log.error(e.getMessage(), e);
+
+        return new ApiError(
+                HttpStatus.CONFLICT.value(),
+                HttpStatus.CONFLICT.getReasonPhrase(),
+                e.getMessage(),
+                LocalDateTime.now()
+        );
+    }
+
     @ExceptionHandler(OrderProcessingException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ApiError handleOrderProcessingException(OrderProcessingException e) {
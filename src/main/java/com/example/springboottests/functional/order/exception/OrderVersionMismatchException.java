@@ -0,0 +1,7 @@
+package com.example.springboottests.functional.order.exception;
+
+public class OrderVersionMismatchException extends RuntimeException {
+    public OrderVersionMismatchException(String message) {
+        super(message);
+    }
+}
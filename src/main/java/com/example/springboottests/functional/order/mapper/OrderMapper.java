@@ -5,6 +5,8 @@ import com.example.springboottests.functional.order.model.OrderEntity;
 import com.example.springboottests.functional.order.model.OrderRequest;
 import org.springframework.stereotype.Component;
 
+import java.util.Objects;
+
 /**
  * Mapper component for converting between order entities, DTOs, and request objects.
  *
@@ -16,14 +18,22 @@ public class OrderMapper {
     /**
      * Updates the provided entity with data from the given order request.
      *
+     * @return {@code true} if the entity has been changed, {@code false} if it already had the requested values.
      */
-    public void updateEntityFromRequest(OrderEntity entity, OrderRequest orderRequest){
-        if (orderRequest == null) {
-            return;
+    public boolean updateEntityFromRequest(OrderEntity entity, OrderRequest orderRequest){
+        if (orderRequest == null || isUnchanged(entity, orderRequest)) {
+            return false;
         }
 
         entity.setWorkorderId(orderRequest.workorderId());
         entity.setState(orderRequest.state());
+
+        return true;
+    }
+
+    private static boolean isUnchanged(OrderEntity entity, OrderRequest orderRequest) {
+        return Objects.equals(entity.getWorkorderId(), orderRequest.workorderId())
+                && Objects.equals(entity.getState(), orderRequest.state());
     }
 
     /**
@@ -34,7 +44,8 @@ public class OrderMapper {
         return new OrderDto(
                 entity.getId(),
                 entity.getWorkorderId(),
-                entity.getState()
+                entity.getState(),
+                entity.getVersion()
         );
     }
 }
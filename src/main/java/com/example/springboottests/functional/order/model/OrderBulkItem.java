@@ -0,0 +1,17 @@
+package com.example.springboottests.functional.order.model;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public record OrderBulkItem(
+        @NotNull
+        Long id,
+        @NotBlank
+        String workorderId,
+        @NotBlank
+        String state) {
+
+    public OrderRequest toOrderRequest() {
+        return new OrderRequest(workorderId, state);
+    }
+}
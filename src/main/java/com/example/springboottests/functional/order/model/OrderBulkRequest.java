@@ -0,0 +1,20 @@
+package com.example.springboottests.functional.order.model;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record OrderBulkRequest(
+        @NotEmpty
+        @Size(max = OrderBulkRequest.MAX_ORDERS)
+        @Valid
+        List<OrderBulkItem> orders) {
+
+    /**
+     * Upper bound of the orders updated in one transaction. It keeps the IN list of the lookup query
+     * far below the bind parameter limit of PostgreSQL (32767) and the row locks short-lived.
+     */
+    public static final int MAX_ORDERS = 1000;
+}
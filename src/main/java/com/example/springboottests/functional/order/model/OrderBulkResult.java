@@ -0,0 +1,25 @@
+package com.example.springboottests.functional.order.model;
+
+public record OrderBulkResult(
+        Long id,
+        Status status,
+        OrderDto order) {
+
+    public static OrderBulkResult updated(OrderDto order) {
+        return new OrderBulkResult(order.id(), Status.UPDATED, order);
+    }
+
+    public static OrderBulkResult unchanged(OrderDto order) {
+        return new OrderBulkResult(order.id(), Status.UNCHANGED, order);
+    }
+
+    public static OrderBulkResult notFound(Long id) {
+        return new OrderBulkResult(id, Status.NOT_FOUND, null);
+    }
+
+    public enum Status {
+        UPDATED,
+        UNCHANGED,
+        NOT_FOUND
+    }
+}
@@ -1,7 +1,18 @@
 package com.example.springboottests.functional.order.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * @param version The version of the order, exposed as ETag instead of being serialized.
+ */
 public record OrderDto(
         Long id,
         String workorderId,
-        String state) {
+        String state,
+        @JsonIgnore
+        Long version) {
+
+    public OrderDto(Long id, String workorderId, String state) {
+        this(id, workorderId, state, null);
+    }
 }
@@ -21,4 +21,8 @@ public class OrderEntity {
 
     @Column(name = "state", nullable = false)
     private String state;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
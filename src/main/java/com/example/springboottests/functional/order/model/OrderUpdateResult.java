@@ -0,0 +1,20 @@
+package com.example.springboottests.functional.order.model;
+
+/**
+ * Result of an order update.
+ *
+ * @param order   The order after the update.
+ * @param changed {@code false} if the order already had the requested values and nothing was written.
+ */
+public record OrderUpdateResult(
+        OrderDto order,
+        boolean changed) {
+
+    public static OrderUpdateResult changed(OrderDto order) {
+        return new OrderUpdateResult(order, true);
+    }
+
+    public static OrderUpdateResult unchanged(OrderDto order) {
+        return new OrderUpdateResult(order, false);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.springboottests.functional.order.model;
+
+/**
+ * Delivery status of an outbox event.
+ *
+ * @author Georgii Lvov
+ */
+public enum OutboxEventStatus {
+
+    /**
+     * The event is waiting for delivery or for its next attempt.
+     */
+    PENDING,
+
+    /**
+     * Delivery has failed too often; the event is kept for inspection and no longer retried.
+     */
+    PARKED
+}
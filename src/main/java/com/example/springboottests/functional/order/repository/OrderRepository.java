@@ -2,9 +2,41 @@ package com.example.springboottests.functional.order.repository;
 
 import com.example.springboottests.functional.order.model.OrderEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
 
 /**
  * Repository interface for managing order entities.
  */
 public interface OrderRepository extends JpaRepository<OrderEntity, Long> {
+
+    Optional<OrderEntity> findByWorkorderId(String workorderId);
+
+    /**
+     * Updates the order with a single statement, increments its version and returns the new row.
+     * The row is not written if it already has the given values or a version other than the expected one.
+     * <p>
+     * Bypasses the persistence context: an instance of the same order already loaded
+     * in the current session is not refreshed.
+     *
+     * @param id              The ID of the order to update.
+     * @param workorderId     The new workorder ID.
+     * @param state           The new state.
+     * @param expectedVersion The version the order must have, {@code null} to update any version.
+     * @return The updated order, empty if no order exists with the given ID, it already has the given values
+     *         or its version does not match.
+     */
+    @Query(
+            value = "UPDATE orders SET workorder_id = :workorderId, state = :state, version = version + 1 "
+                    + "WHERE id = :id "
+                    + "AND (CAST(:expectedVersion AS bigint) IS NULL OR version = :expectedVersion) "
+                    + "AND (workorder_id <> :workorderId OR state <> :state) RETURNING *",
+            nativeQuery = true
+    )
+    Optional<OrderEntity> updateReturning(@Param("id") Long id,
+                                          @Param("workorderId") String workorderId,
+                                          @Param("state") String state,
+                                          @Param("expectedVersion") Long expectedVersion);
 }
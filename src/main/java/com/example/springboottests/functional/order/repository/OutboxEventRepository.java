@@ -0,0 +1,60 @@
+package com.example.springboottests.functional.order.repository;
+
+import com.example.springboottests.functional.order.model.OutboxEventEntity;
+import com.example.springboottests.functional.order.model.OutboxEventStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for managing outbox events.
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+    /**
+     * Claims the oldest due events by leasing them until the given time, so that no other relay worker
+     * picks them while they are being sent. Rows locked by other workers are skipped.
+     * <p>
+     * Only the oldest pending event of each order is claimed, so the notifications of an order are
+     * delivered one after another in the order they were written.
+     *
+     * @param limit      The maximum number of events to claim.
+     * @param now        The current time; only events due by then are claimed.
+     * @param leaseUntil The time until which the claimed events are leased.
+     * @return The claimed events.
+     */
+    @Query(
+            value = "UPDATE order_outbox SET next_attempt_at = :leaseUntil "
+                    + "WHERE id IN ("
+                    + "SELECT e.id FROM order_outbox e "
+                    + "WHERE e.status = 'PENDING' AND e.next_attempt_at <= :now "
+                    + "AND NOT EXISTS (SELECT 1 FROM order_outbox p "
+                    + "WHERE p.order_id = e.order_id AND p.status = 'PENDING' AND p.id < e.id) "
+                    + "ORDER BY e.id LIMIT :limit FOR UPDATE SKIP LOCKED"
+                    + ") RETURNING *",
+            nativeQuery = true
+    )
+    List<OutboxEventEntity> claimNextBatch(@Param("limit") int limit,
+                                           @Param("now") LocalDateTime now,
+                                           @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Records a failed delivery attempt of the event, or reschedules it with an unchanged number of attempts.
+     *
+     * @param id            The ID of the event.
+     * @param attempts      The number of failed attempts so far.
+     * @param nextAttemptAt The time of the next attempt.
+     * @param status        The new status, {@link OutboxEventStatus#PARKED} if the event is no longer retried.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEventEntity e SET e.attempts = :attempts, e.nextAttemptAt = :nextAttemptAt, "
+            + "e.status = :status WHERE e.id = :id")
+    void recordFailedAttempt(@Param("id") Long id,
+                             @Param("attempts") int attempts,
+                             @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                             @Param("status") OutboxEventStatus status);
+}
@@ -0,0 +1,136 @@
+package com.example.springboottests.functional.order.service;
+
+import com.example.springboottests.configuration.OrderCacheProperties;
+import com.example.springboottests.functional.order.model.OrderDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of orders by ID and by workorder ID.
+ * <p>
+ * Orders are cached by ID; the workorder ID cache only maps to the order ID and is verified on every hit,
+ * so a changed workorder ID never returns a stale order. Writes are applied after the surrounding
+ * transaction commits, and an order is never replaced by one with a lower version.
+ * Hits, misses and evictions are reported under the {@code cache.*} meters.
+ *
+ * @author Georgii Lvov
+ */
+@Component
+public class OrderCache {
+
+    private final Cache<Long, OrderDto> ordersById;
+    private final Cache<String, Long> idsByWorkorderId;
+
+    public OrderCache(OrderCacheProperties properties, MeterRegistry meterRegistry) {
+        this.ordersById = newCache(properties);
+        this.idsByWorkorderId = newCache(properties);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, ordersById, "orders.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByWorkorderId, "orders.by-workorder-id");
+    }
+
+    /**
+     * Returns the order with the given ID, loading and caching it on a miss.
+     *
+     * @param id     The ID of the order.
+     * @param loader Loads the order on a miss.
+     * @return The order, empty if the loader has not found it.
+     */
+    public Optional<OrderDto> getById(Long id, Function<Long, Optional<OrderDto>> loader) {
+        OrderDto orderDto = ordersById.get(id, key -> loader.apply(key).orElse(null));
+
+        if (orderDto != null) {
+            idsByWorkorderId.put(orderDto.workorderId(), orderDto.id());
+        }
+
+        return Optional.ofNullable(orderDto);
+    }
+
+    /**
+     * Returns the order with the given workorder ID, loading and caching it on a miss.
+     *
+     * @param workorderId The workorder ID of the order.
+     * @param loader      Loads the order on a miss.
+     * @return The order, empty if the loader has not found it.
+     */
+    public Optional<OrderDto> getByWorkorderId(String workorderId, Function<String, Optional<OrderDto>> loader) {
+        Long id = idsByWorkorderId.getIfPresent(workorderId);
+
+        if (id != null) {
+            OrderDto cached = ordersById.getIfPresent(id);
+
+            if (cached != null && cached.workorderId().equals(workorderId)) {
+                return Optional.of(cached);
+            }
+
+            idsByWorkorderId.invalidate(workorderId);
+        }
+
+        Optional<OrderDto> loaded = loader.apply(workorderId);
+
+        loaded.ifPresent(this::put);
+
+        return loaded;
+    }
+
+    /**
+     * Caches the given order once the current transaction commits, or immediately without transaction.
+     *
+     * @param orderDto The order to cache.
+     */
+    public void putAfterCommit(OrderDto orderDto) {
+        afterCommit(() -> put(orderDto));
+    }
+
+    /**
+     * Evicts the order with the given ID once the current transaction commits, or immediately without transaction.
+     *
+     * @param id The ID of the order to evict.
+     */
+    public void evictAfterCommit(Long id) {
+        afterCommit(() -> ordersById.invalidate(id));
+    }
+
+    private void put(OrderDto orderDto) {
+        ordersById.asMap().merge(orderDto.id(), orderDto, OrderCache::newer);
+        idsByWorkorderId.put(orderDto.workorderId(), orderDto.id());
+    }
+
+    private static OrderDto newer(OrderDto current, OrderDto candidate) {
+        if (current.version() != null && candidate.version() != null && candidate.version() < current.version()) {
+            return current;
+        }
+
+        return candidate;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static <K, V> Cache<K, V> newCache(OrderCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+    }
+}
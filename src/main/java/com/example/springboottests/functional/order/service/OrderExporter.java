@@ -0,0 +1,103 @@
+package com.example.springboottests.functional.order.service;
+
+import com.example.springboottests.functional.order.model.OrderDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Service exporting all orders as newline-delimited JSON.
+ * <p>
+ * Orders are read in pages by keyset on {@code id}, each page in its own short read-only transaction,
+ * and written to the output between the transactions. Only one page is held in memory at a time,
+ * regardless of the table size.
+ *
+ * @author Georgii Lvov
+ */
+@Slf4j
+@Service
+public class OrderExporter {
+
+    private static final String PAGE_QUERY = "select new com.example.springboottests.functional.order.model.OrderDto("
+            + "o.id, o.workorderId, o.state, o.version) "
+            + "from OrderEntity o where o.id > :lastId order by o.id";
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter orderWriter;
+    private final int pageSize;
+
+    public OrderExporter(EntityManager entityManager,
+                         PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper,
+                         @Value("${order.export.page-size:1000}") int pageSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.orderWriter = objectMapper.writerFor(OrderDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Writes all orders ordered by ID to the given stream, one JSON document per line.
+     * The stream is flushed after every page and left open.
+     *
+     * @param outputStream The stream to write to.
+     * @return The number of exported orders.
+     * @throws IOException If writing to the stream fails.
+     */
+    public long export(OutputStream outputStream) throws IOException {
+        long exported = 0;
+        long lastId = 0;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            List<OrderDto> page;
+
+            do {
+                page = readPage(lastId);
+
+                for (OrderDto orderDto : page) {
+                    orderWriter.writeValue(generator, orderDto);
+                    generator.writeRaw('\n');
+                }
+
+                generator.flush();
+
+                if (!page.isEmpty()) {
+                    lastId = page.get(page.size() - 1).id();
+                    exported += page.size();
+                }
+            } while (page.size() == pageSize);
+        }
+
+        log.info("Exported {} order(s)", exported);
+
+        return exported;
+    }
+
+    private List<OrderDto> readPage(long lastId) {
+        return transactionTemplate.execute(status -> entityManager.createQuery(PAGE_QUERY, OrderDto.class)
+                .setParameter("lastId", lastId)
+                .setMaxResults(pageSize)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, pageSize)
+                .getResultList());
+    }
+}
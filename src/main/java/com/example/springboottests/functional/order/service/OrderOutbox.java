@@ -0,0 +1,75 @@
+package com.example.springboottests.functional.order.service;
+
+import com.example.springboottests.configuration.NotificationExecutorProperties;
+import com.example.springboottests.configuration.NotificationExecutorProperties.RejectionPolicy;
+import com.example.springboottests.functional.order.model.OrderDto;
+import com.example.springboottests.functional.order.model.OutboxEventEntity;
+import com.example.springboottests.functional.order.model.OutboxEventStatus;
+import com.example.springboottests.functional.order.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service writing WMSTK notifications to the transactional outbox.
+ * The written notifications are delivered by the {@link OutboxRelay}.
+ *
+ * @author Georgii Lvov
+ */
+@Slf4j
+@Service
+public class OrderOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final boolean enabled;
+    private final boolean spillingRejected;
+
+    public OrderOutbox(OutboxEventRepository outboxEventRepository,
+                       NotificationExecutorProperties executorProperties,
+                       @Value("${notification.outbox.enabled:false}") boolean enabled) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.enabled = enabled;
+        this.spillingRejected = executorProperties.getRejectionPolicy() == RejectionPolicy.OUTBOX;
+    }
+
+    /**
+     * @return {@code true} if notifications are written to the outbox within the order transaction
+     * instead of being sent directly.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return {@code true} if notifications rejected by the saturated notification executor
+     * are written to the outbox.
+     */
+    public boolean isSpillingRejected() {
+        return spillingRejected;
+    }
+
+    /**
+     * Writes a notification to the outbox, joining the current transaction if there is one.
+     *
+     * @param orderDto The order DTO to be included in the notification.
+     */
+    @Transactional
+    public void enqueue(OrderDto orderDto) {
+        OutboxEventEntity event = new OutboxEventEntity();
+        LocalDateTime now = LocalDateTime.now();
+
+        event.setOrderId(orderDto.id());
+        event.setWorkorderId(orderDto.workorderId());
+        event.setState(orderDto.state());
+        event.setCreatedAt(now);
+        event.setStatus(OutboxEventStatus.PENDING);
+        event.setNextAttemptAt(now);
+
+        outboxEventRepository.save(event);
+
+        log.debug("Notification written to the outbox: {}", event);
+    }
+}
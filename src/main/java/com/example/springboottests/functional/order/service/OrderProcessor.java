@@ -1,13 +1,24 @@
 package com.example.springboottests.functional.order.service;
 
+import com.example.springboottests.functional.order.exception.OrderConflictException;
 import com.example.springboottests.functional.order.exception.OrderNotFoundException;
 import com.example.springboottests.functional.order.exception.OrderProcessingException;
+import com.example.springboottests.functional.order.exception.OrderVersionMismatchException;
+import com.example.springboottests.functional.order.model.OrderBulkItem;
+import com.example.springboottests.functional.order.model.OrderBulkResult;
 import com.example.springboottests.functional.order.model.OrderDto;
 import com.example.springboottests.functional.order.model.OrderRequest;
+import com.example.springboottests.functional.order.model.OrderUpdateResult;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * Service responsible for processing order updates.
  *
@@ -18,32 +29,141 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class OrderProcessor {
 
+    private static final String NOOP_COUNTER = "order.update.noop";
+
     private final OrderService orderService;
     private final WmstkNotificationSender wmstkNotificationSender;
+    private final OrderOutbox orderOutbox;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${order.update.conflict-max-attempts:3}")
+    private int conflictMaxAttempts;
 
     /**
      * Updates an order with the given ID and request data.
-     * If the order is successfully updated, a notification is sent to WMSTK-Service.
+     * If the order is successfully updated, a notification is sent to WMSTK-Service,
+     * unless it has already been written to the outbox by {@link OrderService}.
+     * If the order already has the requested values, no notification is sent.
+     * <p>
+     * An update without expected version that conflicts with a concurrent one is retried.
      *
-     * @param id           The ID of the order to update.
-     * @param orderRequest The request data for updating the order.
+     * @param id              The ID of the order to update.
+     * @param orderRequest    The request data for updating the order.
+     * @param expectedVersion The version the order must have, {@code null} to update any version.
      * @return The updated order DTO.
-     * @throws OrderNotFoundException   If the order with the specified ID is not found.
-     * @throws OrderProcessingException If an error occurs while processing the order.
+     * @throws OrderNotFoundException        If the order with the specified ID is not found.
+     * @throws OrderVersionMismatchException If the order does not have the expected version.
+     * @throws OrderConflictException        If the update still conflicts after all attempts.
+     * @throws OrderProcessingException      If an error occurs while processing the order.
      */
-    public OrderDto updateOrder(Long id, OrderRequest orderRequest) {
+    public OrderDto updateOrder(Long id, OrderRequest orderRequest, Long expectedVersion) {
         try {
-            OrderDto orderDto = orderService.updateOrder(id, orderRequest);
+            OrderUpdateResult result = updateWithConflictRetry(id, orderRequest, expectedVersion);
+
+            if (!result.changed()) {
+                log.info("Order is unchanged, notification is skipped");
+
+                meterRegistry.counter(NOOP_COUNTER).increment();
+
+                return result.order();
+            }
 
             log.info("Order successfully updated!");
 
-            wmstkNotificationSender.sendNotification(orderDto);
+            if (!orderOutbox.isEnabled()) {
+                sendNotification(result.order());
+            }
 
-            return orderDto;
-        } catch (OrderNotFoundException e) {
+            return result.order();
+        } catch (OrderNotFoundException | OrderVersionMismatchException | OrderConflictException e) {
             throw e;
         } catch (Exception e) {
             throw new OrderProcessingException("Failed to process order!", e);
         }
     }
+
+    private OrderUpdateResult updateWithConflictRetry(Long id, OrderRequest orderRequest, Long expectedVersion) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return orderService.updateOrder(id, orderRequest, expectedVersion);
+            } catch (OptimisticLockingFailureException e) {
+                if (expectedVersion != null) {
+                    throw new OrderVersionMismatchException(
+                            "Order with id=" + id + " has been modified concurrently, expected version " + expectedVersion);
+                }
+
+                if (attempt >= conflictMaxAttempts) {
+                    throw new OrderConflictException("Order with id=" + id + " is modified concurrently", e);
+                }
+
+                log.warn("Concurrent update of order with id={}, attempt {} of {}", id, attempt, conflictMaxAttempts);
+            }
+        }
+    }
+
+    /**
+     * Updates several orders with the given request data.
+     * A notification is sent to WMSTK-Service for every changed order.
+     * <p>
+     * Updates conflicting with a concurrent update of any of the orders are retried as a whole.
+     *
+     * @param items The items containing the IDs and the updated order details.
+     * @return The result for every distinct order ID.
+     * @throws OrderConflictException   If the update still conflicts after all attempts.
+     * @throws OrderProcessingException If an error occurs while processing the orders.
+     */
+    public List<OrderBulkResult> updateOrders(List<OrderBulkItem> items) {
+        try {
+            List<OrderBulkResult> results = updateWithConflictRetry(items);
+
+            log.info("Orders successfully updated!");
+
+            long unchanged = results.stream()
+                    .filter(result -> result.status() == OrderBulkResult.Status.UNCHANGED)
+                    .count();
+
+            meterRegistry.counter(NOOP_COUNTER).increment(unchanged);
+
+            if (!orderOutbox.isEnabled()) {
+                results.stream()
+                        .filter(result -> result.status() == OrderBulkResult.Status.UPDATED)
+                        .map(OrderBulkResult::order)
+                        .forEach(this::sendNotification);
+            }
+
+            return results;
+        } catch (OrderConflictException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new OrderProcessingException("Failed to process orders!", e);
+        }
+    }
+
+    private List<OrderBulkResult> updateWithConflictRetry(List<OrderBulkItem> items) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return orderService.updateOrders(items);
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= conflictMaxAttempts) {
+                    throw new OrderConflictException("Orders are modified concurrently", e);
+                }
+
+                log.warn("Concurrent update of orders, attempt {} of {}", attempt, conflictMaxAttempts);
+            }
+        }
+    }
+
+    private void sendNotification(OrderDto orderDto) {
+        try {
+            wmstkNotificationSender.sendNotification(orderDto);
+        } catch (TaskRejectedException e) {
+            if (!orderOutbox.isSpillingRejected()) {
+                throw e;
+            }
+
+            log.warn("Notification executor is saturated, notification is written to the outbox");
+
+            orderOutbox.enqueue(orderDto);
+        }
+    }
 }
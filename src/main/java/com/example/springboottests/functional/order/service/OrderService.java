@@ -1,16 +1,30 @@
 package com.example.springboottests.functional.order.service;
 
 import com.example.springboottests.functional.order.exception.OrderNotFoundException;
+import com.example.springboottests.functional.order.exception.OrderVersionMismatchException;
 import com.example.springboottests.functional.order.mapper.OrderMapper;
+import com.example.springboottests.functional.order.model.OrderBulkItem;
+import com.example.springboottests.functional.order.model.OrderBulkResult;
 import com.example.springboottests.functional.order.model.OrderDto;
 import com.example.springboottests.functional.order.model.OrderEntity;
 import com.example.springboottests.functional.order.model.OrderRequest;
+import com.example.springboottests.functional.order.model.OrderUpdateResult;
 import com.example.springboottests.functional.order.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * Service class for handling order-related operations.
  *
@@ -23,24 +37,174 @@ public class OrderService {
 
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
+    private final OrderOutbox orderOutbox;
+    private final OrderCache orderCache;
+
+    @Value("${order.update.strategy:DIRTY_CHECKING}")
+    private OrderUpdateStrategy updateStrategy;
+
+    /**
+     * Returns the order with the given ID, from the cache if present.
+     *
+     * @param id The ID of the order.
+     * @return   The order DTO.
+     * @throws OrderNotFoundException if no order is found with the given ID.
+     */
+    public OrderDto findOrder(Long id) {
+        return orderCache.getById(id, key -> orderRepository.findById(key).map(orderMapper::toDto))
+                .orElseThrow(() -> new OrderNotFoundException("No order found with id=" + id));
+    }
+
+    /**
+     * Returns the order with the given workorder ID, from the cache if present.
+     *
+     * @param workorderId The workorder ID of the order.
+     * @return            The order DTO.
+     * @throws OrderNotFoundException if no order is found with the given workorder ID.
+     */
+    public OrderDto findOrderByWorkorderId(String workorderId) {
+        return orderCache.getByWorkorderId(workorderId, key -> orderRepository.findByWorkorderId(key).map(orderMapper::toDto))
+                .orElseThrow(() -> new OrderNotFoundException("No order found with workorderId=" + workorderId));
+    }
 
     /**
      * Updates an order with the given ID using the information from the order request.
+     * The database write is performed according to the configured {@link OrderUpdateStrategy}
+     * and skipped if the order already has the requested values.
+     * If the outbox is enabled, the WMSTK notification for a changed order is written to it within the same transaction.
+     * <p>
+     * A concurrent update of the same order is detected by its version and results in an
+     * {@link org.springframework.dao.OptimisticLockingFailureException}.
      *
-     * @param id            The ID of the order to update.
-     * @param orderRequest  The request containing the updated order details.
-     * @return              The updated order DTO.
+     * @param id              The ID of the order to update.
+     * @param orderRequest    The request containing the updated order details.
+     * @param expectedVersion The version the order must have, {@code null} to update any version.
+     * @return                The updated order DTO and whether it has been changed.
      * @throws OrderNotFoundException if no order is found with the given ID.
+     * @throws OrderVersionMismatchException if the order does not have the expected version.
      */
     @Transactional
-    public OrderDto updateOrder(Long id, OrderRequest orderRequest) {
-        OrderEntity foundEntity = orderRepository.findById(id)
-                .orElseThrow(() -> new OrderNotFoundException("No order found with id=" + id));
+    public OrderUpdateResult updateOrder(Long id, OrderRequest orderRequest, Long expectedVersion) {
+        OrderUpdateResult result = updateStrategy == OrderUpdateStrategy.RETURNING
+                ? updateReturning(id, orderRequest, expectedVersion)
+                : updateDirtyChecking(id, orderRequest, expectedVersion);
+
+        if (result.changed() && orderOutbox.isEnabled()) {
+            orderOutbox.enqueue(result.order());
+        }
+
+        orderCache.putAfterCommit(result.order());
+
+        return result;
+    }
+
+    /**
+     * Updates several orders in one transaction.
+     * All orders are loaded with a single query, and the updates are flushed in JDBC batches.
+     * If the same ID occurs more than once, the last item wins.
+     * <p>
+     * A concurrent update of any of the orders is detected by its version and results in an
+     * {@link org.springframework.dao.OptimisticLockingFailureException}.
+     *
+     * @param items The items containing the IDs and the updated order details.
+     * @return      The result for every distinct ID, in the order of the first occurrence.
+     */
+    @Transactional
+    public List<OrderBulkResult> updateOrders(List<OrderBulkItem> items) {
+        Map<Long, OrderBulkItem> itemsById = items.stream()
+                .collect(Collectors.toMap(OrderBulkItem::id, Function.identity(), (first, last) -> last,
+                        LinkedHashMap::new));
+
+        Map<Long, OrderEntity> entitiesById = orderRepository.findAllById(itemsById.keySet())
+                .stream()
+                .collect(Collectors.toMap(OrderEntity::getId, Function.identity()));
+
+        Map<Long, Boolean> changedById = new HashMap<>();
+
+        entitiesById.forEach((id, foundEntity) -> changedById.put(id,
+                orderMapper.updateEntityFromRequest(foundEntity, itemsById.get(id).toOrderRequest())));
+
+        if (changedById.containsValue(true)) {
+            // flushed here, so that the DTOs and the outbox events carry the incremented versions
+            orderRepository.flush();
+        }
+
+        List<OrderBulkResult> results = new ArrayList<>(itemsById.size());
+
+        itemsById.keySet().forEach(id -> {
+            OrderEntity foundEntity = entitiesById.get(id);
+
+            if (foundEntity == null) {
+                results.add(OrderBulkResult.notFound(id));
+                return;
+            }
+
+            OrderDto orderDto = orderMapper.toDto(foundEntity);
+
+            if (!changedById.get(id)) {
+                results.add(OrderBulkResult.unchanged(orderDto));
+                return;
+            }
+
+            if (orderOutbox.isEnabled()) {
+                orderOutbox.enqueue(orderDto);
+            }
+
+            orderCache.putAfterCommit(orderDto);
+
+            results.add(OrderBulkResult.updated(orderDto));
+        });
+
+        log.debug("Found {} of {} order(s) to update", entitiesById.size(), itemsById.size());
+
+        return results;
+    }
+
+    private OrderUpdateResult updateDirtyChecking(Long id, OrderRequest orderRequest, Long expectedVersion) {
+        OrderEntity foundEntity = findById(id);
 
         log.debug("Found entity to update: {}", foundEntity);
 
-        orderMapper.updateEntityFromRequest(foundEntity, orderRequest);
+        checkVersion(foundEntity, expectedVersion);
+
+        boolean changed = orderMapper.updateEntityFromRequest(foundEntity, orderRequest);
 
-        return orderMapper.toDto(foundEntity);
+        if (changed) {
+            // flushed here, so that the DTO carries the incremented version
+            orderRepository.flush();
+        }
+
+        return new OrderUpdateResult(orderMapper.toDto(foundEntity), changed);
+    }
+
+    private OrderUpdateResult updateReturning(Long id, OrderRequest orderRequest, Long expectedVersion) {
+        Optional<OrderEntity> updatedEntity = orderRepository.updateReturning(
+                id, orderRequest.workorderId(), orderRequest.state(), expectedVersion);
+
+        if (updatedEntity.isPresent()) {
+            log.debug("Updated entity: {}", updatedEntity.get());
+
+            return OrderUpdateResult.changed(orderMapper.toDto(updatedEntity.get()));
+        }
+
+        // nothing updated: the order is either missing, has another version or already has the requested values
+        OrderEntity foundEntity = findById(id);
+
+        checkVersion(foundEntity, expectedVersion);
+
+        return OrderUpdateResult.unchanged(orderMapper.toDto(foundEntity));
+    }
+
+    private static void checkVersion(OrderEntity entity, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(entity.getVersion())) {
+            throw new OrderVersionMismatchException(
+                    "Order with id=" + entity.getId() + " has version " + entity.getVersion()
+                            + ", expected " + expectedVersion);
+        }
+    }
+
+    private OrderEntity findById(Long id) {
+        return orderRepository.findById(id)
+                .orElseThrow(() -> new OrderNotFoundException("No order found with id=" + id));
     }
 }
@@ -0,0 +1,19 @@
+package com.example.springboottests.functional.order.service;
+
+/**
+ * Strategy used by {@link OrderService} to write an order update to the database.
+ *
+ * @author Georgii Lvov
+ */
+public enum OrderUpdateStrategy {
+
+    /**
+     * The entity is loaded first and the UPDATE is emitted by Hibernate dirty checking on flush.
+     */
+    DIRTY_CHECKING,
+
+    /**
+     * A single {@code UPDATE ... RETURNING} statement writes the order and returns the new row.
+     */
+    RETURNING
+}
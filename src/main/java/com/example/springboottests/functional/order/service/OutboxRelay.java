@@ -0,0 +1,232 @@
+package com.example.springboottests.functional.order.service;
+
+import com.example.springboottests.functional.net.SenderUnavailableException;
+import com.example.springboottests.functional.order.model.OrderDto;
+import com.example.springboottests.functional.order.model.OutboxEventEntity;
+import com.example.springboottests.functional.order.model.OutboxEventStatus;
+import com.example.springboottests.functional.order.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Component delivering notifications from the transactional outbox to WMSTK-Service.
+ * <p>
+ * Each worker repeatedly claims a batch of due events in a short transaction: the rows are locked with
+ * {@code FOR UPDATE SKIP LOCKED} and leased by moving their {@code next_attempt_at} past the expected send time.
+ * The events are then sent without holding a connection or row locks, and a second short transaction deletes
+ * the delivered ones and reschedules the failed ones with exponential backoff. Events still failing
+ * {@code max-age-ms} after they were written are parked and no longer retried. If a worker dies while sending,
+ * its events are claimed again once their lease expires.
+ * <p>
+ * Events rejected with {@link SenderUnavailableException} by the circuit breaker or the bulkhead of WMSTK-Service
+ * never reached it, so they are rescheduled after {@code unavailable-backoff-ms} without counting as a failed
+ * attempt, and are never parked.
+ * <p>
+ * Only the oldest pending event of each order is claimed, so notifications of the same order are never
+ * sent concurrently or out of order, while events of different orders are sent concurrently.
+ *
+ * @author Georgii Lvov
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final WmstkNotificationSender wmstkNotificationSender;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderOutbox orderOutbox;
+    private final Counter deliveredCounter;
+    private final Counter failedCounter;
+    private final Counter parkedCounter;
+    private final Counter rescheduledCounter;
+
+    @Value("${notification.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${notification.outbox.send-concurrency:16}")
+    private int sendConcurrency;
+
+    @Value("${notification.outbox.workers:2}")
+    private int workers;
+
+    @Value("${notification.outbox.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${notification.outbox.lease-ms:60000}")
+    private long leaseMs;
+
+    @Value("${notification.outbox.max-age-ms:86400000}")
+    private long maxAgeMs;
+
+    @Value("${notification.outbox.unavailable-backoff-ms:5000}")
+    private long unavailableBackoffMs;
+
+    @Value("${notification.outbox.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+
+    @Value("${notification.outbox.max-backoff-ms:300000}")
+    private long maxBackoffMs;
+
+    private ScheduledExecutorService scheduler;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       WmstkNotificationSender wmstkNotificationSender,
+                       TransactionTemplate transactionTemplate,
+                       OrderOutbox orderOutbox,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.wmstkNotificationSender = wmstkNotificationSender;
+        this.transactionTemplate = transactionTemplate;
+        this.orderOutbox = orderOutbox;
+        this.deliveredCounter = meterRegistry.counter("outbox.relay.delivered");
+        this.failedCounter = meterRegistry.counter("outbox.relay.failed");
+        this.parkedCounter = meterRegistry.counter("outbox.relay.parked");
+        this.rescheduledCounter = meterRegistry.counter("outbox.relay.rescheduled");
+    }
+
+    /**
+     * Starts the relay workers once the application is ready, if the outbox is in use.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!orderOutbox.isEnabled() && !orderOutbox.isSpillingRejected()) {
+            return;
+        }
+
+        scheduler = Executors.newScheduledThreadPool(workers, new CustomizableThreadFactory("outbox-relay-"));
+
+        for (int i = 0; i < workers; i++) {
+            scheduler.scheduleWithFixedDelay(this::drain, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+        }
+
+        log.info("Outbox relay started with {} worker(s)", workers);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    /**
+     * Claims, sends and completes a single batch of due events. Called repeatedly by the relay workers.
+     *
+     * @return The number of claimed events.
+     */
+    public int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<OutboxEventEntity> batch = Objects.requireNonNull(transactionTemplate.execute(status ->
+                outboxEventRepository.claimNextBatch(batchSize, now, now.plus(Duration.ofMillis(leaseMs)))));
+
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Delivery> deliveries = send(batch);
+
+        List<Long> delivered = deliveries.stream()
+                .filter(Delivery::succeeded)
+                .map(delivery -> delivery.event().getId())
+                .toList();
+        List<OutboxEventEntity> unavailable = deliveries.stream()
+                .filter(delivery -> delivery.error() instanceof SenderUnavailableException)
+                .map(Delivery::event)
+                .toList();
+        List<OutboxEventEntity> failed = deliveries.stream()
+                .filter(delivery -> !delivery.succeeded() && !(delivery.error() instanceof SenderUnavailableException))
+                .map(Delivery::event)
+                .toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxEventRepository.deleteAllByIdInBatch(delivered);
+            unavailable.forEach(this::reschedule);
+            failed.forEach(this::recordFailedAttempt);
+        });
+
+        deliveredCounter.increment(delivered.size());
+        rescheduledCounter.increment(unavailable.size());
+        failedCounter.increment(failed.size());
+
+        return batch.size();
+    }
+
+    private void drain() {
+        try {
+            int claimed;
+
+            do {
+                claimed = relayBatch();
+            } while (claimed == batchSize);
+        } catch (Exception e) {
+            log.error("Failed to relay outbox events", e);
+        }
+    }
+
+    private List<Delivery> send(List<OutboxEventEntity> batch) {
+        return Objects.requireNonNull(Flux.fromIterable(batch)
+                .flatMap(event -> wmstkNotificationSender.deliver(toDto(event))
+                        .thenReturn(new Delivery(event, null))
+                        .onErrorResume(e -> {
+                            log.warn("Failed to deliver outbox event {}: {}", event.getId(), e.getMessage());
+                            return Mono.just(new Delivery(event, e));
+                        }), sendConcurrency)
+                .collectList()
+                .block());
+    }
+
+    private void reschedule(OutboxEventEntity event) {
+        outboxEventRepository.recordFailedAttempt(event.getId(), event.getAttempts(),
+                LocalDateTime.now().plus(Duration.ofMillis(unavailableBackoffMs)), OutboxEventStatus.PENDING);
+    }
+
+    private void recordFailedAttempt(OutboxEventEntity event) {
+        int attempts = event.getAttempts() + 1;
+
+        if (!LocalDateTime.now().isBefore(event.getCreatedAt().plus(Duration.ofMillis(maxAgeMs)))) {
+            log.error("Outbox event {} failed {} times within {} ms and is parked: {}",
+                    event.getId(), attempts, maxAgeMs, event);
+            parkedCounter.increment();
+            outboxEventRepository.recordFailedAttempt(event.getId(), attempts, event.getNextAttemptAt(),
+                    OutboxEventStatus.PARKED);
+            return;
+        }
+
+        outboxEventRepository.recordFailedAttempt(event.getId(), attempts,
+                LocalDateTime.now().plus(backoff(attempts)), OutboxEventStatus.PENDING);
+    }
+
+    private Duration backoff(int attempts) {
+        return Duration.ofMillis(Math.min(initialBackoffMs * (1L << Math.min(attempts - 1, 20)), maxBackoffMs));
+    }
+
+    private static OrderDto toDto(OutboxEventEntity event) {
+        return new OrderDto(event.getOrderId(), event.getWorkorderId(), event.getState());
+    }
+
+    private record Delivery(OutboxEventEntity event, Throwable error) {
+
+        boolean succeeded() {
+            return error == null;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.springboottests.functional.order.service;
+
+import com.example.springboottests.functional.order.model.OrderDto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Buffer of pending WMSTK notifications coalesced per order id.
+ * <p>
+ * A later notification for an order replaces the pending one (last state wins),
+ * so every order is sent at most once per batch.
+ *
+ * @author Georgii Lvov
+ */
+public class WmstkNotificationBuffer {
+
+    private final int maxBatchSize;
+    private final Map<Long, OrderDto> pending = new LinkedHashMap<>();
+
+    public WmstkNotificationBuffer(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Adds a notification to the buffer, replacing a pending one for the same order.
+     *
+     * @param orderDto The order DTO to be included in the notification.
+     * @return {@code true} if the buffer has reached the maximum batch size and should be flushed.
+     */
+    public synchronized boolean add(OrderDto orderDto) {
+        pending.put(orderDto.id(), orderDto);
+
+        return pending.size() >= maxBatchSize;
+    }
+
+    /**
+     * Adds notifications failed to be sent back to the buffer.
+     * A notification is dropped if a newer one for the same order has been added in the meantime.
+     *
+     * @param orderDtos The notifications failed to be sent.
+     */
+    public synchronized void requeue(List<OrderDto> orderDtos) {
+        orderDtos.forEach(orderDto -> pending.putIfAbsent(orderDto.id(), orderDto));
+    }
+
+    /**
+     * Removes and returns all pending notifications in the order they were first added.
+     *
+     * @return The pending notifications, empty if there are none.
+     */
+    public synchronized List<OrderDto> drain() {
+        List<OrderDto> batch = new ArrayList<>(pending.values());
+
+        pending.clear();
+
+        return batch;
+    }
+}
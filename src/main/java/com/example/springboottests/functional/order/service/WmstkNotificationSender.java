@@ -1,40 +1,185 @@
 package com.example.springboottests.functional.order.service;
 
+import com.example.springboottests.configuration.ApplicationConfiguration;
 import com.example.springboottests.functional.net.GeneralSender;
 import com.example.springboottests.functional.order.model.OrderDto;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class WmstkNotificationSender {
 
     private final GeneralSender generalSender;
+    private final OrderOutbox orderOutbox;
+    private final WmstkNotificationBuffer buffer;
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter failedBatchCounter;
 
     @Value("${url.wmstk-service}")
     private String wmstkUrl;
 
+    @Value("${url.wmstk-batch-service:}")
+    private String wmstkBatchUrl;
+
+    @Value("${notification.batch.enabled:false}")
+    private boolean batchEnabled;
+
+    public WmstkNotificationSender(GeneralSender generalSender,
+                                   OrderOutbox orderOutbox,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${notification.batch.max-size:100}") int maxBatchSize) {
+        this.generalSender = generalSender;
+        this.orderOutbox = orderOutbox;
+        this.buffer = new WmstkNotificationBuffer(maxBatchSize);
+        this.flushTimer = meterRegistry.timer("wmstk.notification.flush");
+        this.batchSizeSummary = meterRegistry.summary("wmstk.notification.batch.size");
+        this.failedBatchCounter = meterRegistry.counter("wmstk.notification.batch.failed");
+    }
+
+    /**
+     * Fails the startup if batching is enabled without the URL of the batch endpoint.
+     */
+    @PostConstruct
+    public void validateBatchConfiguration() {
+        if (batchEnabled && !StringUtils.hasText(wmstkBatchUrl)) {
+            throw new IllegalStateException(
+                    "url.wmstk-batch-service must be set if notification.batch.enabled is true");
+        }
+    }
+
     /**
      * Asynchronously sends a notification to WMSTK-Service.
+     * <p>
+     * If batching is enabled, the notification is buffered instead and sent with the next batch.
      *
      * @param orderDto The order DTO to be included in the notification.
      */
-    @Async
+    @Async(ApplicationConfiguration.NOTIFICATION_EXECUTOR)
     public void sendNotification(OrderDto orderDto) {
-        generalSender.send(
+        if (batchEnabled) {
+            if (buffer.add(orderDto)) {
+                flush();
+            }
+            return;
+        }
+
+        deliver(orderDto).block();
+
+        log.info("Notification to WMSTK has been sent successfully");
+    }
+
+    /**
+     * Sends a notification to WMSTK-Service without blocking the calling thread.
+     *
+     * @param orderDto The order DTO to be included in the notification.
+     * @return Mono completing when the notification has been sent.
+     */
+    public Mono<Void> deliver(OrderDto orderDto) {
+        return generalSender.sendAsync(
                 wmstkUrl,
                 HttpMethod.POST,
                 orderDto,
                 httpHeaders -> httpHeaders.setContentType(MediaType.APPLICATION_JSON),
                 Void.class
         );
+    }
 
-        log.info("Notification to WMSTK has been sent successfully");
+    /**
+     * Sends all buffered notifications to WMSTK-Service as a single batch.
+     * Called periodically and whenever the buffer reaches the maximum batch size.
+     * <p>
+     * If the batch cannot be sent, it is written to the outbox if the outbox is in use,
+     * and put back into the buffer for the next flush otherwise.
+     */
+    @Scheduled(fixedDelayString = "${notification.batch.flush-interval-ms:500}")
+    public void flush() {
+        List<OrderDto> batch = buffer.drain();
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            sendBatch(batch);
+        } catch (RuntimeException e) {
+            log.warn("Failed to send batch of {} notifications to WMSTK", batch.size(), e);
+            failedBatchCounter.increment();
+
+            if (!spillToOutbox(batch)) {
+                buffer.requeue(batch);
+            }
+        }
+    }
+
+    /**
+     * Sends the buffered notifications before shutdown.
+     * If they cannot be sent, they are written to the outbox if the outbox is in use, and lost otherwise.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        List<OrderDto> batch = buffer.drain();
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            sendBatch(batch);
+        } catch (RuntimeException e) {
+            log.warn("Failed to send batch of {} notifications to WMSTK on shutdown", batch.size(), e);
+            failedBatchCounter.increment();
+
+            if (!spillToOutbox(batch)) {
+                log.error("{} notifications to WMSTK are lost: {}", batch.size(), batch);
+            }
+        }
+    }
+
+    private void sendBatch(List<OrderDto> batch) {
+        batchSizeSummary.record(batch.size());
+
+        flushTimer.record(() -> {
+            generalSender.send(
+                    wmstkBatchUrl,
+                    HttpMethod.POST,
+                    batch,
+                    httpHeaders -> httpHeaders.setContentType(MediaType.APPLICATION_JSON),
+                    Void.class
+            );
+        });
+
+        log.info("Batch of {} notifications to WMSTK has been sent successfully", batch.size());
+    }
+
+    private boolean spillToOutbox(List<OrderDto> batch) {
+        if (!orderOutbox.isEnabled() && !orderOutbox.isSpillingRejected()) {
+            return false;
+        }
+
+        try {
+            batch.forEach(orderOutbox::enqueue);
+            log.info("Batch of {} notifications to WMSTK has been written to the outbox", batch.size());
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Failed to write batch of {} notifications to the outbox", batch.size(), e);
+            return false;
+        }
     }
 }
@@ -0,0 +1,143 @@
+package com.example.springboottests.component.client;
+
+import com.example.springboottests.configuration.oauth2.ReactiveClientConfiguration;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.oauth2.client.OAuth2ClientProperties;
+import org.springframework.boot.autoconfigure.security.oauth2.client.OAuth2ClientPropertiesMapper;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.WebClientAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.client.registration.InMemoryClientRegistrationRepository;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Component tests for the reactive OAuth2 client mode of {@link ReactiveClientConfiguration}.
+ * <p>
+ * The context holds only the reactive client configuration and the client registrations bound from
+ * {@code spring.security.oauth2.client}. The token endpoint and the called service are stubbed by WireMock.
+ *
+ * @author Georgii Lvov
+ */
+@SpringBootTest(
+        classes = {ReactiveClientConfiguration.class, ReactiveClientConfigurationTests.ClientRegistrationConfiguration.class},
+        properties = {
+                "oauth2.client.mode=reactive",
+                "spring.security.oauth2.client.registration.tardis.authorization-grant-type=client_credentials",
+                "spring.security.oauth2.client.registration.tardis.client-id=dummy_client_id",
+                "spring.security.oauth2.client.registration.tardis.client-secret=dummy_client_secret",
+                "spring.security.oauth2.client.provider.tardis.token-uri=http://localhost:${wiremock.server.port}" +
+                        ReactiveClientConfigurationTests.TOKEN_PATH
+        })
+@ImportAutoConfiguration(WebClientAutoConfiguration.class)
+@AutoConfigureWireMock(port = 0, files = "classpath:/data/json/wiremock")
+class ReactiveClientConfigurationTests {
+
+    static final String TOKEN_PATH = "/auth/realms/default/protocol/openid-connect/token";
+
+    private static final String NOTES_PATH = "/notes";
+    private static final String REGISTRATION_ID = "tardis";
+    private static final String PRINCIPAL = "anonymousUser";
+
+    @Value("${wiremock.server.port}")
+    private int wiremockPort;
+
+    @Autowired
+    private WebClient oauthWebClient;
+
+    @Autowired
+    private ReactiveOAuth2AuthorizedClientService authorizedClientService;
+
+    @BeforeEach
+    void setUp() {
+        WireMock.reset();
+        authorizedClientService.removeAuthorizedClient(REGISTRATION_ID, PRINCIPAL).block();
+    }
+
+    /**
+     * Test case to verify that a token is fetched from the token endpoint, sent with the request,
+     * and reused by the following requests.
+     */
+    @Test
+    void testWhenRequestsAreSentThenTokenIsFetchedOnceAndSent() {
+        stubFor(post(urlPathEqualTo(TOKEN_PATH)).willReturn(tokenResponse()));
+        stubFor(post(urlPathEqualTo(NOTES_PATH)).willReturn(aResponse().withStatus(201)));
+
+        postNote();
+        postNote();
+
+        verify(1, postRequestedFor(urlPathEqualTo(TOKEN_PATH)));
+        verify(2, postRequestedFor(urlPathEqualTo(NOTES_PATH))
+                .withHeader(HttpHeaders.AUTHORIZATION, matching("Bearer .+")));
+    }
+
+    /**
+     * Test case to verify that a token rejected by the called service is removed,
+     * so that the next request fetches a new one.
+     */
+    @Test
+    void testWhenTokenIsRejectedThenItIsRemovedAndFetchedAgain() {
+        stubFor(post(urlPathEqualTo(TOKEN_PATH)).willReturn(tokenResponse()));
+        stubFor(post(urlPathEqualTo(NOTES_PATH)).willReturn(aResponse().withStatus(401)));
+
+        assertThrows(WebClientResponseException.Unauthorized.class, this::postNote);
+
+        assertThat(authorizedClientService.loadAuthorizedClient(REGISTRATION_ID, PRINCIPAL).block()).isNull();
+
+        stubFor(post(urlPathEqualTo(NOTES_PATH)).willReturn(aResponse().withStatus(201)));
+
+        postNote();
+
+        verify(2, postRequestedFor(urlPathEqualTo(TOKEN_PATH)));
+    }
+
+    private void postNote() {
+        oauthWebClient.post()
+                .uri("http://localhost:" + wiremockPort + NOTES_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{}")
+                .retrieve()
+                .toBodilessEntity()
+                .block();
+    }
+
+    private static ResponseDefinitionBuilder tokenResponse() {
+        return aResponse()
+                .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .withBodyFile("openIdToken.json");
+    }
+
+    /**
+     * Binds the client registrations from {@code spring.security.oauth2.client} as the servlet auto-configuration
+     * of the application does.
+     */
+    @TestConfiguration
+    @EnableConfigurationProperties(OAuth2ClientProperties.class)
+    static class ClientRegistrationConfiguration {
+
+        @Bean
+        ClientRegistrationRepository clientRegistrationRepository(OAuth2ClientProperties properties) {
+            return new InMemoryClientRegistrationRepository(
+                    List.copyOf(new OAuth2ClientPropertiesMapper(properties).asClientRegistrations().values()));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.springboottests.component.jpa;
+
+import com.example.springboottests.functional.order.model.OrderEntity;
+import com.example.springboottests.functional.order.service.OrderExporter;
+import com.example.springboottests.misc.config.PostgreSqlContainerConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * Component tests for the {@link OrderExporter}.
+ * <p>
+ * These tests verify the keyset-paginated export against a real database provided by
+ * {@link PostgreSqlContainerConfiguration}. The page size is reduced to 2, so that the export
+ * of three orders spans several pages.
+ *
+ * @author Georgii Lvov
+ */
+@DataJpaTest(properties = {"spring.jpa.hibernate.ddl-auto=create", "order.export.page-size=2"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({PostgreSqlContainerConfiguration.class, OrderExporter.class})
+class OrderExporterTests {
+
+    @Autowired
+    private OrderExporter orderExporter;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    /**
+     * Test case to verify that all orders are exported ordered by ID, one JSON document per line.
+     */
+    @Test
+    void testExportAllOrdersSuccessful() throws Exception {
+        testEntityManager.persist(getOrderEntity("wo_id_1", "state_1"));
+        testEntityManager.persist(getOrderEntity("wo_id_2", "state_2"));
+        testEntityManager.persist(getOrderEntity("wo_id_3", "state_3"));
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long exported = orderExporter.export(outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertAll(
+                () -> assertThat(exported).isEqualTo(3),
+                () -> assertThat(lines).hasSize(3),
+                () -> assertThatJson(lines[0]).isEqualTo(
+                        "{\"id\": \"${json-unit.any-number}\", \"workorderId\": \"wo_id_1\", \"state\": \"state_1\"}"),
+                () -> assertThatJson(lines[2]).isEqualTo(
+                        "{\"id\": \"${json-unit.any-number}\", \"workorderId\": \"wo_id_3\", \"state\": \"state_3\"}")
+        );
+    }
+
+    /**
+     * Test case to verify that nothing is written when there are no orders.
+     */
+    @Test
+    void testExportWhenNoOrders() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long exported = orderExporter.export(outputStream);
+
+        assertAll(
+                () -> assertThat(exported).isZero(),
+                () -> assertThat(outputStream.size()).isZero()
+        );
+    }
+
+    private static OrderEntity getOrderEntity(String workorderId, String state) {
+        OrderEntity orderEntity = new OrderEntity();
+        orderEntity.setWorkorderId(workorderId);
+        orderEntity.setState(state);
+        return orderEntity;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.springboottests.component.jpa;
+
+import com.example.springboottests.configuration.NotificationExecutorProperties;
+import com.example.springboottests.functional.order.model.OrderDto;
+import com.example.springboottests.functional.order.model.OutboxEventEntity;
+import com.example.springboottests.functional.order.model.OutboxEventStatus;
+import com.example.springboottests.functional.order.repository.OutboxEventRepository;
+import com.example.springboottests.functional.order.service.OrderOutbox;
+import com.example.springboottests.misc.config.PostgreSqlContainerConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Component tests for the {@link OrderOutbox}.
+ * <p>
+ * These tests verify against a real PostgreSQL database, provided by {@link PostgreSqlContainerConfiguration},
+ * that notifications are written as due pending events within the transaction of the caller.
+ *
+ * @author Georgii Lvov
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({PostgreSqlContainerConfiguration.class, OrderOutbox.class, NotificationExecutorProperties.class})
+class OrderOutboxTests {
+
+    @Autowired
+    private OrderOutbox orderOutbox;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+    }
+
+    /**
+     * Test case to verify that a notification is written as a pending event due immediately.
+     */
+    @Test
+    void testWhenEnqueuedThenPendingEventIsWritten() {
+        orderOutbox.enqueue(new OrderDto(1L, "wo_id_1", "PROCESSED"));
+
+        assertThat(outboxEventRepository.findAll()).singleElement().satisfies(event -> {
+            assertThat(event.getOrderId()).isEqualTo(1L);
+            assertThat(event.getWorkorderId()).isEqualTo("wo_id_1");
+            assertThat(event.getState()).isEqualTo("PROCESSED");
+            assertThat(event.getStatus()).isEqualTo(OutboxEventStatus.PENDING);
+            assertThat(event.getAttempts()).isZero();
+            assertThat(event.getNextAttemptAt()).isBeforeOrEqualTo(LocalDateTime.now());
+        });
+    }
+
+    /**
+     * Test case to verify that a notification is not written if the transaction of the caller is rolled back.
+     */
+    @Test
+    void testWhenCallerTransactionRolledBackThenNoEventIsWritten() {
+        transactionTemplate.executeWithoutResult(status -> {
+            orderOutbox.enqueue(new OrderDto(1L, "wo_id_1", "PROCESSED"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(outboxEventRepository.findAll()).extracting(OutboxEventEntity::getOrderId).isEmpty();
+    }
+}
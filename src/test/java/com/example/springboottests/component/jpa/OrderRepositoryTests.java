@@ -11,8 +11,10 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
 
 /**
  * Component tests for the {@link OrderRepository}.
@@ -64,6 +66,68 @@ class OrderRepositoryTests {
         assertThat(orders).hasSize(2);
     }
 
+    /**
+     * Test case to verify that the single-statement update writes the order and returns the new row.
+     */
+    @Test
+    void testUpdateReturningSuccessful() {
+        Long id = testEntityManager.persistAndGetId(getOrderEntity("wo_id_1", "state_1"), Long.class);
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        Optional<OrderEntity> updatedOrder = orderRepository.updateReturning(id, "wo_id_2", "state_2", null);
+
+        testEntityManager.clear();
+
+        assertAll(
+                () -> assertThat(updatedOrder).hasValueSatisfying(order -> {
+                    assertThat(order.getWorkorderId()).isEqualTo("wo_id_2");
+                    assertThat(order.getState()).isEqualTo("state_2");
+                    assertThat(order.getVersion()).isEqualTo(1L);
+                }),
+                () -> assertThat(testEntityManager.find(OrderEntity.class, id).getState()).isEqualTo("state_2")
+        );
+    }
+
+    /**
+     * Test case to verify that the single-statement update returns nothing when no order matches.
+     */
+    @Test
+    void testUpdateReturningWhenOrderNotFound() {
+        Optional<OrderEntity> updatedOrder = orderRepository.updateReturning(-1L, "wo_id_1", "state_1", null);
+
+        assertThat(updatedOrder).isEmpty();
+    }
+
+    /**
+     * Test case to verify that the single-statement update does not write an order that already has the given values.
+     */
+    @Test
+    void testUpdateReturningWhenOrderUnchanged() {
+        Long id = testEntityManager.persistAndGetId(getOrderEntity("wo_id_1", "state_1"), Long.class);
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        Optional<OrderEntity> updatedOrder = orderRepository.updateReturning(id, "wo_id_1", "state_1", null);
+
+        assertThat(updatedOrder).isEmpty();
+    }
+
+    /**
+     * Test case to verify that the single-statement update does not write an order with another version
+     * than the expected one.
+     */
+    @Test
+    void testUpdateReturningWhenVersionDoesNotMatch() {
+        Long id = testEntityManager.persistAndGetId(getOrderEntity("wo_id_1", "state_1"), Long.class);
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        Optional<OrderEntity> updatedOrder = orderRepository.updateReturning(id, "wo_id_2", "state_2", 5L);
+
+        assertThat(updatedOrder).isEmpty();
+    }
+
     private static OrderEntity getOrderEntity(String workorderId, String state) {
         OrderEntity orderEntity = new OrderEntity();
         orderEntity.setWorkorderId(workorderId);
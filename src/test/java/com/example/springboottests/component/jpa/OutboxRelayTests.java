@@ -0,0 +1,288 @@
+package com.example.springboottests.component.jpa;
+
+import com.example.springboottests.configuration.NotificationExecutorProperties;
+import com.example.springboottests.functional.net.SenderUnavailableException;
+import com.example.springboottests.functional.order.model.OrderDto;
+import com.example.springboottests.functional.order.model.OutboxEventEntity;
+import com.example.springboottests.functional.order.model.OutboxEventStatus;
+import com.example.springboottests.functional.order.repository.OutboxEventRepository;
+import com.example.springboottests.functional.order.service.OrderOutbox;
+import com.example.springboottests.functional.order.service.OutboxRelay;
+import com.example.springboottests.functional.order.service.WmstkNotificationSender;
+import com.example.springboottests.misc.config.PostgreSqlContainerConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Component tests for the {@link OutboxRelay}.
+ * <p>
+ * These tests run the claim query with {@code FOR UPDATE SKIP LOCKED} against a real PostgreSQL database
+ * provided by {@link PostgreSqlContainerConfiguration}, and verify delivery, retries, parking and the order
+ * of the notifications with a mocked {@link WmstkNotificationSender}.
+ * <p>
+ * The test transaction of {@link DataJpaTest} is disabled with {@code Propagation.NOT_SUPPORTED},
+ * so that the relay opens and commits its own transactions as in production.
+ *
+ * @author Georgii Lvov
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create",
+        "notification.outbox.initial-backoff-ms=0"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+        PostgreSqlContainerConfiguration.class,
+        OutboxRelay.class,
+        OrderOutbox.class,
+        NotificationExecutorProperties.class,
+        SimpleMeterRegistry.class
+})
+class OutboxRelayTests {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OrderOutbox orderOutbox;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private WmstkNotificationSender wmstkNotificationSender;
+
+    @BeforeEach
+    void setUp() {
+        // the relay is shared by the tests of the context, so the settings changed by a test are reset
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 100);
+        ReflectionTestUtils.setField(outboxRelay, "initialBackoffMs", 0L);
+        ReflectionTestUtils.setField(outboxRelay, "maxAgeMs", TimeUnit.DAYS.toMillis(1));
+        ReflectionTestUtils.setField(outboxRelay, "unavailableBackoffMs", 0L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+    }
+
+    /**
+     * Test case to verify that delivered events are removed from the outbox.
+     */
+    @Test
+    void testWhenEventsDeliveredThenTheyAreDeleted() {
+        when(wmstkNotificationSender.deliver(any())).thenReturn(Mono.empty());
+
+        orderOutbox.enqueue(new OrderDto(1L, "wo_id_1", "PROCESSED"));
+        orderOutbox.enqueue(new OrderDto(2L, "wo_id_2", "PROCESSED"));
+
+        assertAll(
+                () -> assertThat(outboxRelay.relayBatch()).isEqualTo(2),
+                () -> assertThat(outboxEventRepository.count()).isZero()
+        );
+
+        verify(wmstkNotificationSender, times(2)).deliver(any());
+    }
+
+    /**
+     * Test case to verify that a failed event is retried while it is younger than the maximum age.
+     */
+    @Test
+    void testWhenDeliveryFailsThenEventIsRetried() {
+        when(wmstkNotificationSender.deliver(any())).thenReturn(Mono.error(new IllegalStateException("rejected")));
+
+        orderOutbox.enqueue(new OrderDto(1L, "wo_id_1", "PROCESSED"));
+
+        outboxRelay.relayBatch();
+        outboxRelay.relayBatch();
+
+        OutboxEventEntity event = outboxEventRepository.findAll().get(0);
+
+        assertAll(
+                () -> assertThat(event.getStatus()).isEqualTo(OutboxEventStatus.PENDING),
+                () -> assertThat(event.getAttempts()).isEqualTo(2)
+        );
+
+        verify(wmstkNotificationSender, times(2)).deliver(any());
+    }
+
+    /**
+     * Test case to verify that a failed event older than the maximum age is parked and no longer retried.
+     */
+    @Test
+    void testWhenDeliveryFailsAfterMaxAgeThenEventIsParked() {
+        ReflectionTestUtils.setField(outboxRelay, "maxAgeMs", 0L);
+
+        when(wmstkNotificationSender.deliver(any())).thenReturn(Mono.error(new IllegalStateException("rejected")));
+
+        orderOutbox.enqueue(new OrderDto(1L, "wo_id_1", "PROCESSED"));
+
+        outboxRelay.relayBatch();
+
+        OutboxEventEntity event = outboxEventRepository.findAll().get(0);
+
+        assertAll(
+                () -> assertThat(event.getStatus()).isEqualTo(OutboxEventStatus.PARKED),
+                () -> assertThat(event.getAttempts()).isEqualTo(1),
+                () -> assertThat(outboxRelay.relayBatch()).isZero()
+        );
+
+        verify(wmstkNotificationSender).deliver(any());
+    }
+
+    /**
+     * Test case to verify that an event rejected by the open circuit of WMSTK-Service is rescheduled
+     * without counting as a failed attempt, and is not parked even if it is older than the maximum age.
+     */
+    @Test
+    void testWhenCircuitIsOpenThenEventIsRescheduledWithoutAttempt() {
+        ReflectionTestUtils.setField(outboxRelay, "maxAgeMs", 0L);
+        ReflectionTestUtils.setField(outboxRelay, "unavailableBackoffMs", 60_000L);
+
+        when(wmstkNotificationSender.deliver(any()))
+                .thenReturn(Mono.error(new SenderUnavailableException("Circuit of target 'wmstk-service' is open")));
+
+        orderOutbox.enqueue(new OrderDto(1L, "wo_id_1", "PROCESSED"));
+
+        outboxRelay.relayBatch();
+
+        OutboxEventEntity event = outboxEventRepository.findAll().get(0);
+
+        assertAll(
+                () -> assertThat(event.getStatus()).isEqualTo(OutboxEventStatus.PENDING),
+                () -> assertThat(event.getAttempts()).isZero(),
+                () -> assertThat(event.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(30)),
+                () -> assertThat(outboxRelay.relayBatch()).isZero()
+        );
+    }
+
+    /**
+     * Test case to verify that an event waiting for its next attempt does not block newer events.
+     */
+    @Test
+    void testWhenEventWaitsForRetryThenNewerEventsAreDelivered() {
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 1);
+        ReflectionTestUtils.setField(outboxRelay, "initialBackoffMs", 60_000L);
+
+        OrderDto failingOrder = new OrderDto(1L, "wo_id_1", "PROCESSED");
+        OrderDto order = new OrderDto(2L, "wo_id_2", "PROCESSED");
+
+        when(wmstkNotificationSender.deliver(failingOrder)).thenReturn(Mono.error(new IllegalStateException("rejected")));
+        when(wmstkNotificationSender.deliver(order)).thenReturn(Mono.empty());
+
+        orderOutbox.enqueue(failingOrder);
+        orderOutbox.enqueue(order);
+
+        outboxRelay.relayBatch();
+        outboxRelay.relayBatch();
+
+        List<OutboxEventEntity> events = outboxEventRepository.findAll();
+
+        assertAll(
+                () -> assertThat(events).singleElement().satisfies(event -> {
+                    assertThat(event.getOrderId()).isEqualTo(1L);
+                    assertThat(event.getAttempts()).isEqualTo(1);
+                    assertThat(event.getNextAttemptAt()).isAfter(LocalDateTime.now());
+                }),
+                () -> verify(wmstkNotificationSender).deliver(order)
+        );
+    }
+
+    /**
+     * Test case to verify that the notifications of an order are delivered one after another in the order
+     * they were written.
+     */
+    @Test
+    void testWhenOrderHasSeveralEventsThenTheyAreDeliveredInOrder() {
+        when(wmstkNotificationSender.deliver(any())).thenReturn(Mono.empty());
+
+        orderOutbox.enqueue(new OrderDto(1L, "wo_id_1", "CREATED"));
+        orderOutbox.enqueue(new OrderDto(1L, "wo_id_1", "PROCESSED"));
+
+        assertAll(
+                () -> assertThat(outboxRelay.relayBatch()).isEqualTo(1),
+                () -> assertThat(outboxRelay.relayBatch()).isEqualTo(1),
+                () -> assertThat(outboxEventRepository.count()).isZero()
+        );
+
+        InOrder inOrder = inOrder(wmstkNotificationSender);
+        inOrder.verify(wmstkNotificationSender).deliver(argThat(order -> "CREATED".equals(order.state())));
+        inOrder.verify(wmstkNotificationSender).deliver(argThat(order -> "PROCESSED".equals(order.state())));
+    }
+
+    /**
+     * Test case to verify that events locked by another worker are skipped, and that claimed events are not
+     * claimed again while their lease lasts.
+     */
+    @Test
+    void testWhenEventsAreClaimedByAnotherWorkerThenTheyAreSkipped() throws Exception {
+        orderOutbox.enqueue(new OrderDto(1L, "wo_id_1", "PROCESSED"));
+
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<List<OutboxEventEntity>> firstWorker = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    List<OutboxEventEntity> events = claim();
+                    claimed.countDown();
+                    await(release);
+                    return events;
+                }));
+
+        assertThat(claimed.await(10, TimeUnit.SECONDS)).isTrue();
+
+        List<OutboxEventEntity> whileLocked = transactionTemplate.execute(status -> claim());
+
+        release.countDown();
+
+        List<OutboxEventEntity> whileLeased = transactionTemplate.execute(status -> claim());
+
+        assertAll(
+                () -> assertThat(firstWorker.get(10, TimeUnit.SECONDS)).hasSize(1),
+                () -> assertThat(whileLocked).isEmpty(),
+                () -> assertThat(whileLeased).isEmpty()
+        );
+    }
+
+    private List<OutboxEventEntity> claim() {
+        LocalDateTime now = LocalDateTime.now();
+
+        return outboxEventRepository.claimNextBatch(10, now, now.plusMinutes(1));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package com.example.springboottests.component.service;
 
+import com.example.springboottests.functional.order.exception.OrderConflictException;
 import com.example.springboottests.functional.order.mapper.OrderMapper;
+import com.example.springboottests.functional.order.model.OrderBulkItem;
+import com.example.springboottests.functional.order.model.OrderBulkResult;
 import com.example.springboottests.functional.order.model.OrderDto;
 import com.example.springboottests.functional.order.model.OrderEntity;
 import com.example.springboottests.functional.order.model.OrderRequest;
 import com.example.springboottests.functional.order.repository.OrderRepository;
+import com.example.springboottests.functional.order.service.OrderCache;
+import com.example.springboottests.functional.order.service.OrderOutbox;
 import com.example.springboottests.functional.order.service.OrderProcessor;
 import com.example.springboottests.functional.order.service.OrderService;
 import com.example.springboottests.functional.order.service.WmstkNotificationSender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -15,14 +21,21 @@ import org.mockito.Captor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -43,7 +56,7 @@ import static org.mockito.Mockito.when;
  * @author Georgii Lvov
  */
 @ExtendWith(SpringExtension.class)
-@ContextConfiguration(classes = {OrderProcessor.class, OrderService.class, OrderMapper.class})
+@ContextConfiguration(classes = {OrderProcessor.class, OrderService.class, OrderMapper.class, SimpleMeterRegistry.class})
 class OrderProcessorTests {
 
     @Autowired
@@ -55,9 +68,18 @@ class OrderProcessorTests {
     @MockBean
     private WmstkNotificationSender wmstkNotificationSender;
 
+    @MockBean
+    private OrderOutbox orderOutbox;
+
+    @MockBean
+    private OrderCache orderCache;
+
     @Captor
     private ArgumentCaptor<OrderDto> orderDtoCaptor;
 
+    @Captor
+    private ArgumentCaptor<Iterable<Long>> idsCaptor;
+
     /**
      * Test case to verify that the {@link WmstkNotificationSender} is called with the updated order values.
      */
@@ -70,7 +92,7 @@ class OrderProcessorTests {
         when(orderRepository.findById(1L)).thenReturn(Optional.of(orderEntity));
 
         // action
-        orderProcessor.updateOrder(1L, new OrderRequest("new_workorder_id_value", "new_state_value"));
+        orderProcessor.updateOrder(1L, new OrderRequest("new_workorder_id_value", "new_state_value"), null);
 
         // assert
         assertAll(
@@ -81,6 +103,89 @@ class OrderProcessorTests {
         );
     }
 
+    /**
+     * Test case to verify that the {@link WmstkNotificationSender} is not called when the order already has
+     * the requested values.
+     */
+    @Test
+    void testWhenOrderUnchangedThenWmstkNotificationSenderIsNotCalled() {
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(getOrderEntity()));
+
+        orderProcessor.updateOrder(1L, new OrderRequest("old_workorder_id_value", "old_state_value"), null);
+
+        verify(wmstkNotificationSender, never()).sendNotification(any());
+    }
+
+    /**
+     * Test case to verify that the orders of a bulk update are loaded with one query for the distinct IDs,
+     * the last item wins for a duplicated ID, and a missing ID is reported as not found.
+     */
+    @Test
+    void testWhenBulkUpdateHasDuplicateAndMissingIdsThenResultPerDistinctIdIsReturned() {
+        // arrange
+        when(orderRepository.findAllById(any())).thenReturn(List.of(getOrderEntity()));
+
+        List<OrderBulkItem> items = List.of(
+                new OrderBulkItem(1L, "first_workorder_id_value", "first_state_value"),
+                new OrderBulkItem(2L, "new_workorder_id_value", "new_state_value"),
+                new OrderBulkItem(1L, "new_workorder_id_value", "new_state_value")
+        );
+
+        // action
+        List<OrderBulkResult> results = orderProcessor.updateOrders(items);
+
+        // assert
+        assertAll(
+                () -> verify(orderRepository).findAllById(idsCaptor.capture()),
+                () -> assertThat(idsCaptor.getValue()).containsExactly(1L, 2L),
+                () -> assertThat(results).containsExactly(
+                        OrderBulkResult.updated(new OrderDto(1L, "new_workorder_id_value", "new_state_value")),
+                        OrderBulkResult.notFound(2L)),
+                () -> verify(wmstkNotificationSender).sendNotification(
+                        new OrderDto(1L, "new_workorder_id_value", "new_state_value"))
+        );
+    }
+
+    /**
+     * Test case to verify that a bulk update conflicting with a concurrent update is retried
+     * and succeeds once the conflict is gone.
+     */
+    @Test
+    void testWhenBulkUpdateConflictsThenItIsRetried() {
+        when(orderRepository.findAllById(any())).thenAnswer(invocation -> List.of(getOrderEntity()));
+        doThrow(new ObjectOptimisticLockingFailureException(OrderEntity.class, 1L))
+                .doNothing()
+                .when(orderRepository).flush();
+
+        List<OrderBulkResult> results = orderProcessor.updateOrders(
+                List.of(new OrderBulkItem(1L, "new_workorder_id_value", "new_state_value")));
+
+        assertAll(
+                () -> verify(orderRepository, times(2)).findAllById(any()),
+                () -> assertThat(results).containsExactly(
+                        OrderBulkResult.updated(new OrderDto(1L, "new_workorder_id_value", "new_state_value"))),
+                () -> verify(wmstkNotificationSender).sendNotification(any())
+        );
+    }
+
+    /**
+     * Test case to verify that a bulk update still conflicting after all attempts results in
+     * an {@link OrderConflictException} and no notification is sent.
+     */
+    @Test
+    void testWhenBulkUpdateKeepsConflictingThenOrderConflictExceptionIsThrown() {
+        List<OrderBulkItem> items = List.of(new OrderBulkItem(1L, "new_workorder_id_value", "new_state_value"));
+
+        when(orderRepository.findAllById(any())).thenAnswer(invocation -> List.of(getOrderEntity()));
+        doThrow(new ObjectOptimisticLockingFailureException(OrderEntity.class, 1L))
+                .when(orderRepository).flush();
+
+        assertThrows(OrderConflictException.class, () -> orderProcessor.updateOrders(items));
+
+        verify(orderRepository, times(3)).findAllById(any());
+        verify(wmstkNotificationSender, never()).sendNotification(any());
+    }
+
     private static OrderEntity getOrderEntity() {
         OrderEntity orderEntity = new OrderEntity();
 
@@ -2,8 +2,13 @@ package com.example.springboottests.component.web;
 
 import com.example.springboottests.functional.order.controller.OrderController;
 import com.example.springboottests.functional.order.exception.OrderNotFoundException;
+import com.example.springboottests.functional.order.exception.OrderVersionMismatchException;
+import com.example.springboottests.functional.order.model.OrderBulkRequest;
+import com.example.springboottests.functional.order.model.OrderBulkResult;
 import com.example.springboottests.functional.order.model.OrderDto;
+import com.example.springboottests.functional.order.service.OrderExporter;
 import com.example.springboottests.functional.order.service.OrderProcessor;
+import com.example.springboottests.functional.order.service.OrderService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -12,19 +17,39 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static com.example.springboottests.misc.utils.TestUtils.loadFile;
 import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
  * Component tests for the {@link OrderController}.
  * <p>
  * These tests focus on the behavior of the {@link OrderController} class by mocking the
- * {@link OrderProcessor} and interacting with the controller endpoints. The {@code @WebMvcTest(OrderController.class)}
+ * {@link OrderProcessor} and {@link OrderService} and interacting with the controller endpoints. The {@code @WebMvcTest(OrderController.class)}
  * annotation is used to narrow the testing scope to the web layer. {@link SecurityFilterChain} is mocked to
  * bypass security configurations.
  * <p>
@@ -37,6 +62,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @MockBean(SecurityFilterChain.class)
 class OrderControllerTests {
 
+    private static final String ORDERS_URI = "/v1/orders";
     private static final String ORDERS_URI_WITH_ID = "/v1/orders/1";
 
     @Autowired
@@ -45,6 +71,12 @@ class OrderControllerTests {
     @MockBean
     private OrderProcessor orderProcessor;
 
+    @MockBean
+    private OrderService orderService;
+
+    @MockBean
+    private OrderExporter orderExporter;
+
     /**
      * Test case to verify that when an order is processed successfully,
      * the response status is OK (200) and the correct order details are returned.
@@ -55,7 +87,7 @@ class OrderControllerTests {
         String requestBody = loadFile("/data/json/orderRequest.json");
         String expectedResponseBody = loadFile("/data/json/orderDto.json");
 
-        when(orderProcessor.updateOrder(any(), any()))
+        when(orderProcessor.updateOrder(any(), any(), any()))
                 .thenReturn(getOrderDto());
 
         String actualResponseBody = mockMvc.perform(patch(ORDERS_URI_WITH_ID)
@@ -100,7 +132,7 @@ class OrderControllerTests {
         String requestBody = loadFile("/data/json/orderRequest.json");
         String expectedResponseBody = loadFile("/data/json/apiErrorNotFound.json");
 
-        when(orderProcessor.updateOrder(any(), any()))
+        when(orderProcessor.updateOrder(any(), any(), any()))
                 .thenThrow(new OrderNotFoundException("No order found with id=1"));
 
         String actualResponseBody = mockMvc.perform(patch(ORDERS_URI_WITH_ID)
@@ -114,6 +146,210 @@ class OrderControllerTests {
         assertThatJson(actualResponseBody).isEqualTo(expectedResponseBody);
     }
 
+    /**
+     * Test case to verify that the version of the updated order is returned as ETag
+     * and that the version from the If-Match header is passed to the order processor.
+     *
+     */
+    @Test
+    void testWhenIfMatchGivenThenExpectedVersionIsPassedAndETagIsReturned() throws Exception {
+        String requestBody = loadFile("/data/json/orderRequest.json");
+
+        when(orderProcessor.updateOrder(any(), any(), any()))
+                .thenReturn(new OrderDto(1L, "new_workorder_id_value", "new_state_value", 3L));
+
+        mockMvc.perform(patch(ORDERS_URI_WITH_ID)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+
+        verify(orderProcessor).updateOrder(eq(1L), any(), eq(2L));
+    }
+
+    /**
+     * Test case to verify that when no If-Match header is given, no expected version is passed to the order processor.
+     *
+     */
+    @Test
+    void testWhenIfMatchIsAbsentThenNoExpectedVersionIsPassed() throws Exception {
+        String requestBody = loadFile("/data/json/orderRequest.json");
+
+        when(orderProcessor.updateOrder(any(), any(), any()))
+                .thenReturn(getOrderDto());
+
+        mockMvc.perform(patch(ORDERS_URI_WITH_ID)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .content(requestBody))
+                .andExpect(status().isOk());
+
+        verify(orderProcessor).updateOrder(eq(1L), any(), isNull());
+    }
+
+    /**
+     * Test case to verify that when the order processor throws an {@link OrderVersionMismatchException},
+     * the response status is PRECONDITION_FAILED (412).
+     *
+     */
+    @Test
+    void testWhenOrderVersionMismatchThenStatusIsPreconditionFailed() throws Exception {
+        String requestBody = loadFile("/data/json/orderRequest.json");
+
+        when(orderProcessor.updateOrder(any(), any(), any()))
+                .thenThrow(new OrderVersionMismatchException("Order with id=1 has version 3, expected 2"));
+
+        mockMvc.perform(patch(ORDERS_URI_WITH_ID)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .content(requestBody))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    /**
+     * Test case to verify that an order is returned by its ID together with its version as ETag.
+     *
+     */
+    @Test
+    void testWhenOrderFoundByIdThenStatusIsOk() throws Exception {
+        String expectedResponseBody = loadFile("/data/json/orderDto.json");
+
+        when(orderService.findOrder(1L))
+                .thenReturn(new OrderDto(1L, "new_workorder_id_value", "new_state_value", 3L));
+
+        String actualResponseBody = mockMvc.perform(get(ORDERS_URI_WITH_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThatJson(actualResponseBody).isEqualTo(expectedResponseBody);
+    }
+
+    /**
+     * Test case to verify that an order is returned by its workorder ID.
+     *
+     */
+    @Test
+    void testWhenOrderFoundByWorkorderIdThenStatusIsOk() throws Exception {
+        String expectedResponseBody = loadFile("/data/json/orderDto.json");
+
+        when(orderService.findOrderByWorkorderId("new_workorder_id_value"))
+                .thenReturn(getOrderDto());
+
+        String actualResponseBody = mockMvc.perform(get(ORDERS_URI).param("workorderId", "new_workorder_id_value"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThatJson(actualResponseBody).isEqualTo(expectedResponseBody);
+    }
+
+    /**
+     * Test case to verify that the export is streamed as newline-delimited JSON.
+     *
+     */
+    @Test
+    void testWhenOrdersExportedThenNdjsonIsStreamed() throws Exception {
+        String ndjson = "{\"id\":1,\"workorderId\":\"wo_id_1\",\"state\":\"CREATED\"}\n";
+
+        doAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class).write(ndjson.getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(orderExporter).export(any());
+
+        MvcResult mvcResult = mockMvc.perform(get(ORDERS_URI + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(ndjson));
+    }
+
+    /**
+     * Test case to verify that the export runs on the bounded MVC async executor
+     * instead of a new thread per request.
+     *
+     */
+    @Test
+    void testWhenOrdersExportedThenExportRunsOnMvcAsyncExecutor() throws Exception {
+        AtomicReference<String> exportThread = new AtomicReference<>();
+
+        doAnswer(invocation -> {
+            exportThread.set(Thread.currentThread().getName());
+            return 0L;
+        }).when(orderExporter).export(any());
+
+        MvcResult mvcResult = mockMvc.perform(get(ORDERS_URI + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk());
+
+        assertThat(exportThread.get()).startsWith("mvc-async-");
+    }
+
+    /**
+     * Test case to verify that when several orders are processed,
+     * the response status is OK (200) and a result is returned for every order.
+     *
+     */
+    @Test
+    void testWhenOrdersProcessedInBulkThenResultForEveryOrderIsReturned() throws Exception {
+        String requestBody = loadFile("/data/json/orderBulkRequest.json");
+        String expectedResponseBody = loadFile("/data/json/orderBulkResult.json");
+
+        when(orderProcessor.updateOrders(any()))
+                .thenReturn(List.of(OrderBulkResult.updated(getOrderDto()), OrderBulkResult.notFound(2L)));
+
+        String actualResponseBody = mockMvc.perform(patch(ORDERS_URI)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThatJson(actualResponseBody).isEqualTo(expectedResponseBody);
+    }
+
+    /**
+     * Test case to verify that when the bulk request contains no orders,
+     * the response status is BAD_REQUEST (400).
+     *
+     */
+    @Test
+    void testWhenBulkRequestIsEmptyThenStatusIsBadRequest() throws Exception {
+        mockMvc.perform(patch(ORDERS_URI)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .content("{\"orders\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test case to verify that when the bulk request contains more orders than allowed,
+     * the response status is BAD_REQUEST (400) and nothing is updated.
+     *
+     */
+    @Test
+    void testWhenBulkRequestExceedsLimitThenStatusIsBadRequest() throws Exception {
+        String orders = IntStream.rangeClosed(1, OrderBulkRequest.MAX_ORDERS + 1)
+                .mapToObj(id -> "{\"id\": %d, \"workorderId\": \"wo_id\", \"state\": \"state\"}".formatted(id))
+                .collect(Collectors.joining(",", "{\"orders\": [", "]}"));
+
+        mockMvc.perform(patch(ORDERS_URI)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .content(orders))
+                .andExpect(status().isBadRequest());
+
+        verify(orderProcessor, never()).updateOrders(any());
+    }
+
     private static OrderDto getOrderDto() {
         return new OrderDto(
                 1L,
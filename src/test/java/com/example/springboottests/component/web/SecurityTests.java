@@ -68,6 +68,17 @@ class SecurityTests {
                 .andExpect(status().isUnauthorized());
     }
 
+    /**
+     * Test case to verify that a request to the metrics endpoint without a JWT token
+     * results in an unauthorized status.
+     */
+    @Test
+    void testGivenJwtMissingWhenMetricsRequestThenStatusIsUnauthorized() throws Exception {
+        this.mockMvc
+                .perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+    }
+
     /**
      * Test case to verify that a request with a JWT token with an invalid issuer claim
      * results in an unauthorized status.
@@ -85,17 +96,17 @@ class SecurityTests {
 
     /**
      * Test case to verify that a request with a JWT token with an invalid operation claim
-     * results in an unauthorized status.
+     * results in a forbidden status, since the token is valid but does not authorize the operation.
      */
     @Test
-    void testGivenJwtWithInvalidOperationClaimWhenGetRequestThenStatusIsUnauthorized() throws Exception {
+    void testGivenJwtWithInvalidOperationClaimWhenGetRequestThenStatusIsForbidden() throws Exception {
         String token = generateJwt(
                 issuerUri,
                 HttpMethod.POST.name()
         );
 
         sendRequestWithToken(token)
-                .andExpect(status().isUnauthorized());
+                .andExpect(status().isForbidden());
     }
 
     private ResultActions sendRequestWithToken(String token) throws Exception {
@@ -138,6 +138,7 @@ class OrderProcessingIT {
         orderEntity.setId(1L);
         orderEntity.setWorkorderId("new_workorder_id_value");
         orderEntity.setState("new_state_value");
+        orderEntity.setVersion(1L);
 
         return orderEntity;
     }
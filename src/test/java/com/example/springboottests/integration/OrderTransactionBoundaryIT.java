@@ -0,0 +1,111 @@
+package com.example.springboottests.integration;
+
+import com.example.springboottests.functional.order.service.WmstkNotificationSender;
+import com.example.springboottests.misc.annotations.IntegrationTest;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.springboottests.misc.utils.SecurityTestsUtils.generateJwt;
+import static com.example.springboottests.misc.utils.TestUtils.loadFile;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+
+/**
+ * Integration tests for the transaction boundaries of the order update.
+ * <p>
+ * These tests verify that a database connection is held only while the order is updated
+ * and is released before the WMSTK notification is sent. The update is sent as a real PATCH request
+ * through the whole web stack, so an open-in-view EntityManager would keep the connection until the response
+ * is written and fail the test. The notification is simulated by a slow {@link WmstkNotificationSender} mock,
+ * and the connection hold time is read from the {@code hikaricp.connections.usage} timer.
+ * <p>
+ * The connection settings under test are set on the test itself, since the test {@code application.yaml}
+ * replaces the one of the application.
+ *
+ * @author Georgii Lvov
+ */
+@IntegrationTest
+@TestPropertySource(properties = {
+        "spring.jpa.open-in-view=false",
+        "spring.datasource.hikari.auto-commit=false",
+        "spring.jpa.properties.hibernate.connection.provider_disables_autocommit=true"
+})
+class OrderTransactionBoundaryIT {
+
+    private static final String ORDERS_URI_WITH_ID = "/v1/orders/1";
+    private static final long NOTIFICATION_DURATION_MS = 1000;
+
+    @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}")
+    private String issuerUri;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private WmstkNotificationSender wmstkNotificationSender;
+
+    /**
+     * Test case to verify that the connection is released before the WMSTK notification is sent,
+     * so that its hold time does not include the notification.
+     */
+    @Test
+    @Sql("/data/sql/insertOneOrder.sql")
+    @Sql(scripts = "/data/sql/truncateTable.sql", executionPhase = AFTER_TEST_METHOD)
+    void testConnectionIsReleasedBeforeWmstkNotificationIsSent() throws Exception {
+        // arrange
+        HikariDataSource hikariDataSource = dataSource.unwrap(HikariDataSource.class);
+        AtomicInteger activeConnectionsDuringNotification = new AtomicInteger(-1);
+
+        doAnswer(invocation -> {
+            activeConnectionsDuringNotification.set(hikariDataSource.getHikariPoolMXBean().getActiveConnections());
+            Thread.sleep(NOTIFICATION_DURATION_MS);
+            return null;
+        }).when(wmstkNotificationSender).sendNotification(any());
+
+        // the timer cannot be reset, so only the connections used by the request are measured
+        Timer connectionUsage = meterRegistry.get("hikaricp.connections.usage").timer();
+        long usagesBefore = connectionUsage.count();
+        double usageMsBefore = connectionUsage.totalTime(TimeUnit.MILLISECONDS);
+
+        // act
+        webTestClient.patch()
+                .uri(ORDERS_URI_WITH_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(AUTHORIZATION, "Bearer " + generateJwt(issuerUri, HttpMethod.PATCH.name()))
+                .bodyValue(loadFile("/data/json/orderRequest.json"))
+                .exchange()
+                .expectStatus().isOk();
+
+        // assert
+        assertAll(
+                () -> assertThat(activeConnectionsDuringNotification).hasValue(0),
+                () -> assertThat(connectionUsage.count()).isGreaterThan(usagesBefore),
+                () -> assertThat(connectionUsage.totalTime(TimeUnit.MILLISECONDS) - usageMsBefore)
+                        .isLessThan(NOTIFICATION_DURATION_MS)
+        );
+    }
+}
@@ -0,0 +1,304 @@
+package com.example.springboottests.unit;
+
+import com.example.springboottests.functional.net.SenderUnavailableException;
+import com.example.springboottests.functional.note.BatchMqConsumer;
+import com.example.springboottests.functional.note.NoteProcessor;
+import com.example.springboottests.functional.note.SessionErrorHandler;
+import com.example.springboottests.functional.note.exception.XmlConverterException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.jms.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link BatchMqConsumer}.
+ * <p>
+ * The queue is simulated by a {@link BlockingQueue} behind a mocked {@link MessageConsumer}, so the consumer
+ * threads receive messages the same way as from a real queue.
+ *
+ * @author Georgii Lvov
+ */
+@ExtendWith(MockitoExtension.class)
+class BatchMqConsumerTests {
+
+    private static final long VERIFY_TIMEOUT_MS = 5000;
+    private static final long UNAVAILABLE_BACKOFF_MS = 300;
+
+    private final BlockingQueue<Message> queue = new LinkedBlockingQueue<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private MessageConsumer messageConsumer;
+
+    @Mock
+    private NoteProcessor noteProcessor;
+
+    private SessionErrorHandler errorHandler;
+    private BatchMqConsumer batchMqConsumer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        errorHandler = new SessionErrorHandler();
+        batchMqConsumer = new BatchMqConsumer(connectionFactory, noteProcessor, errorHandler, meterRegistry);
+
+        ReflectionTestUtils.setField(batchMqConsumer, "queueName", "notes");
+        ReflectionTestUtils.setField(batchMqConsumer, "enabled", true);
+        ReflectionTestUtils.setField(batchMqConsumer, "consumers", 1);
+        ReflectionTestUtils.setField(batchMqConsumer, "maxMessages", 2);
+        ReflectionTestUtils.setField(batchMqConsumer, "maxWaitMs", 50L);
+        ReflectionTestUtils.setField(batchMqConsumer, "maxInFlight", 2);
+        ReflectionTestUtils.setField(batchMqConsumer, "recoveryIntervalMs", 0L);
+        ReflectionTestUtils.setField(batchMqConsumer, "shutdownTimeoutMs", VERIFY_TIMEOUT_MS);
+
+        lenient().when(connectionFactory.createConnection()).thenReturn(connection);
+        lenient().when(connection.createSession(anyBoolean(), anyInt())).thenReturn(session);
+        lenient().when(session.createConsumer(any())).thenReturn(messageConsumer);
+        lenient().when(messageConsumer.receive(anyLong()))
+                .thenAnswer(invocation -> queue.poll(invocation.getArgument(0), TimeUnit.MILLISECONDS));
+        lenient().when(messageConsumer.receiveNoWait()).thenAnswer(invocation -> queue.poll());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        batchMqConsumer.stop();
+    }
+
+    /**
+     * Test case to verify that the messages are received in batches of at most {@code max-messages}
+     * and every batch is committed once.
+     */
+    @Test
+    void testWhenMoreMessagesThanBatchSizeThenBatchesAreCommittedSeparately() throws Exception {
+        when(noteProcessor.processAsync(anyString())).thenReturn(Mono.empty());
+
+        queue.add(textMessage("<note>1</note>"));
+        queue.add(textMessage("<note>2</note>"));
+        queue.add(textMessage("<note>3</note>"));
+
+        batchMqConsumer.start();
+
+        verify(session, timeout(VERIFY_TIMEOUT_MS).times(2)).commit();
+        verify(noteProcessor, times(3)).processAsync(anyString());
+
+        DistributionSummary batchSize = meterRegistry.get("mq.batch.size").summary();
+
+        assertAll(
+                () -> assertEquals(2, batchSize.count()),
+                () -> assertEquals(2, batchSize.max())
+        );
+    }
+
+    /**
+     * Test case to verify that a batch is committed once {@code max-wait-ms} has passed,
+     * even if it holds fewer than {@code max-messages} messages.
+     */
+    @Test
+    void testWhenMaxWaitElapsesThenIncompleteBatchIsCommitted() throws Exception {
+        when(noteProcessor.processAsync(anyString())).thenReturn(Mono.empty());
+
+        queue.add(textMessage("<note>1</note>"));
+
+        batchMqConsumer.start();
+
+        verify(session, timeout(VERIFY_TIMEOUT_MS)).commit();
+        verify(noteProcessor).processAsync("<note>1</note>");
+
+        assertEquals(1, meterRegistry.get("mq.batch.size").summary().max());
+    }
+
+    /**
+     * Test case to verify that when a {@link JMSException} occurs while processing a message,
+     * the whole batch is rolled back and nothing is committed.
+     */
+    @Test
+    void testWhenJmsExceptionThenBatchIsRolledBack() throws Exception {
+        when(noteProcessor.processAsync(anyString())).thenReturn(Mono.empty());
+        when(noteProcessor.processAsync("<note>2</note>")).thenReturn(Mono.error(new JMSException("reason")));
+
+        queue.add(textMessage("<note>1</note>"));
+        queue.add(textMessage("<note>2</note>"));
+
+        batchMqConsumer.start();
+
+        verify(session, timeout(VERIFY_TIMEOUT_MS)).rollback();
+        verify(session, never()).commit();
+
+        assertEquals(1, meterRegistry.get("mq.batch.rollbacks").counter().count());
+    }
+
+    /**
+     * Test case to verify that a batch failed because of an unavailable destination is rolled back
+     * only after the back-off.
+     */
+    @Test
+    void testWhenDestinationUnavailableThenBatchIsRolledBackAfterBackoff() throws Exception {
+        AtomicLong rolledBackAt = new AtomicLong();
+
+        ReflectionTestUtils.setField(errorHandler, "unavailableBackoffMs", UNAVAILABLE_BACKOFF_MS);
+
+        when(noteProcessor.processAsync(anyString()))
+                .thenReturn(Mono.error(new SenderUnavailableException("Circuit of target 'note-service' is open")));
+        doAnswer(invocation -> {
+            rolledBackAt.set(System.nanoTime());
+            return null;
+        }).when(session).rollback();
+
+        queue.add(textMessage("<note>1</note>"));
+
+        long receivedAt = System.nanoTime();
+
+        batchMqConsumer.start();
+
+        verify(session, timeout(VERIFY_TIMEOUT_MS).atLeastOnce()).rollback();
+        verify(session, never()).commit();
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(rolledBackAt.get() - receivedAt))
+                .isGreaterThanOrEqualTo(UNAVAILABLE_BACKOFF_MS);
+    }
+
+    /**
+     * Test case to verify that a message failed with an error not requiring a rollback is skipped
+     * and the rest of the batch is committed.
+     */
+    @Test
+    void testWhenMessageFailsWithoutRollbackThenItIsSkippedAndBatchIsCommitted() throws Exception {
+        when(noteProcessor.processAsync(anyString())).thenReturn(Mono.empty());
+        when(noteProcessor.processAsync("<invalid>"))
+                .thenReturn(Mono.error(new XmlConverterException("Invalid XML", new IllegalArgumentException())));
+
+        queue.add(textMessage("<invalid>"));
+        queue.add(textMessage("<note>2</note>"));
+
+        batchMqConsumer.start();
+
+        verify(session, timeout(VERIFY_TIMEOUT_MS)).commit();
+        verify(noteProcessor).processAsync("<note>2</note>");
+        verify(session, never()).rollback();
+    }
+
+    /**
+     * Test case to verify that when the body of a message cannot be read because of a {@link JMSException},
+     * the batch is rolled back without sending any of its messages.
+     */
+    @Test
+    void testWhenBodyReadFailsWithJmsExceptionThenBatchIsRolledBackUnsent() throws Exception {
+        Message unreadable = mock(Message.class);
+
+        when(unreadable.getBody(String.class)).thenThrow(new JMSException("Connection broken"));
+
+        queue.add(textMessage("<note>1</note>"));
+        queue.add(unreadable);
+
+        batchMqConsumer.start();
+
+        verify(session, timeout(VERIFY_TIMEOUT_MS)).rollback();
+        verify(session, never()).commit();
+        verify(noteProcessor, never()).processAsync(anyString());
+    }
+
+    /**
+     * Test case to verify that a message with a body of an unexpected type is skipped
+     * and the rest of the batch is processed and committed.
+     */
+    @Test
+    void testWhenBodyHasUnexpectedTypeThenMessageIsSkipped() throws Exception {
+        Message unreadable = mock(Message.class);
+
+        when(unreadable.getBody(String.class)).thenThrow(new MessageFormatException("Not a text message"));
+        when(noteProcessor.processAsync(anyString())).thenReturn(Mono.empty());
+
+        queue.add(unreadable);
+        queue.add(textMessage("<note>2</note>"));
+
+        batchMqConsumer.start();
+
+        verify(session, timeout(VERIFY_TIMEOUT_MS)).commit();
+        verify(noteProcessor).processAsync("<note>2</note>");
+        verify(unreadable).getJMSMessageID();
+    }
+
+    /**
+     * Test case to verify that the consumer reconnects if the connection to the queue manager fails.
+     */
+    @Test
+    void testWhenConnectionFailsThenConsumerReconnects() throws Exception {
+        when(connectionFactory.createConnection())
+                .thenThrow(new JMSException("Queue manager unavailable"))
+                .thenReturn(connection);
+        when(noteProcessor.processAsync(anyString())).thenReturn(Mono.empty());
+
+        queue.add(textMessage("<note>1</note>"));
+
+        batchMqConsumer.start();
+
+        verify(session, timeout(VERIFY_TIMEOUT_MS)).commit();
+        verify(connectionFactory, times(2)).createConnection();
+    }
+
+    /**
+     * Test case to verify that on shutdown the batch in progress is completed and committed
+     * before the consumer stops.
+     */
+    @Test
+    void testWhenStoppedDuringBatchThenBatchIsCommittedBeforeShutdown() throws Exception {
+        Sinks.Empty<Void> noteSent = Sinks.empty();
+
+        when(noteProcessor.processAsync(anyString())).thenReturn(noteSent.asMono());
+
+        queue.add(textMessage("<note>1</note>"));
+
+        batchMqConsumer.start();
+
+        verify(noteProcessor, timeout(VERIFY_TIMEOUT_MS)).processAsync("<note>1</note>");
+
+        CompletableFuture<Void> stopped = CompletableFuture.runAsync(() -> {
+            try {
+                batchMqConsumer.stop();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        noteSent.tryEmitEmpty();
+        stopped.get(VERIFY_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+
+        verify(session).commit();
+        verify(connection).close();
+    }
+
+    private static Message textMessage(String body) throws JMSException {
+        Message message = mock(Message.class);
+
+        lenient().when(message.getBody(String.class)).thenReturn(body);
+
+        return message;
+    }
+}
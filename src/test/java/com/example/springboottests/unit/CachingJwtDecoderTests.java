@@ -0,0 +1,106 @@
+package com.example.springboottests.unit;
+
+import com.example.springboottests.configuration.oauth2.CachingJwtDecoder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the {@link CachingJwtDecoder}.
+ * <p>
+ * The delegate {@link JwtDecoder} is mocked, so the tests verify how often the signature would be verified.
+ *
+ * @author Georgii Lvov
+ */
+@ExtendWith(MockitoExtension.class)
+class CachingJwtDecoderTests {
+
+    private static final String TOKEN = "header.payload.signature";
+    private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+
+    @Mock
+    private JwtDecoder delegate;
+
+    /**
+     * Test case to verify that a token is decoded by the delegate only once.
+     */
+    @Test
+    void testWhenSameTokenDecodedTwiceThenDelegateIsCalledOnce() {
+        Jwt jwt = jwt(NOW.plusSeconds(300));
+        CachingJwtDecoder decoder = decoder();
+
+        when(delegate.decode(TOKEN)).thenReturn(jwt);
+
+        decoder.decode(TOKEN);
+        Jwt decoded = decoder.decode(TOKEN);
+
+        assertAll(
+                () -> assertThat(decoded).isSameAs(jwt),
+                () -> verify(delegate, times(1)).decode(TOKEN)
+        );
+    }
+
+    /**
+     * Test case to verify that a token failed in the delegate, e.g. due to an invalid signature or claim, is not cached.
+     */
+    @Test
+    void testWhenDelegateFailsThenTokenIsNotCached() {
+        CachingJwtDecoder decoder = decoder();
+
+        when(delegate.decode(TOKEN)).thenThrow(new BadJwtException("Invalid signature"));
+
+        assertThrows(BadJwtException.class, () -> decoder.decode(TOKEN));
+        assertThrows(BadJwtException.class, () -> decoder.decode(TOKEN));
+
+        verify(delegate, times(2)).decode(TOKEN);
+    }
+
+    /**
+     * Test case to verify that an already expired token is not kept in the cache.
+     */
+    @Test
+    void testWhenTokenExpiredThenTokenIsNotCached() {
+        CachingJwtDecoder decoder = decoder();
+
+        when(delegate.decode(TOKEN)).thenReturn(jwt(NOW.minusSeconds(1)));
+
+        decoder.decode(TOKEN);
+        decoder.getCache().cleanUp();
+
+        assertThat(decoder.getCache().estimatedSize()).isZero();
+    }
+
+    private CachingJwtDecoder decoder() {
+        return new CachingJwtDecoder(
+                delegate,
+                100,
+                Duration.ofMinutes(10),
+                Clock.fixed(NOW, ZoneOffset.UTC)
+        );
+    }
+
+    private static Jwt jwt(Instant expiresAt) {
+        return Jwt.withTokenValue(TOKEN)
+                .header("alg", "RS256")
+                .claim("operation", "GET")
+                .issuedAt(expiresAt.minusSeconds(600))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.springboottests.unit;
+
+import com.example.springboottests.configuration.HttpClientConfiguration;
+import com.example.springboottests.configuration.HttpClientProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * Unit tests for the connection pool built by {@link HttpClientConfiguration}.
+ *
+ * @author Georgii Lvov
+ */
+class HttpClientConfigurationTests {
+
+    private ConnectionProvider connectionProvider;
+
+    @AfterEach
+    void tearDown() {
+        connectionProvider.dispose();
+    }
+
+    /**
+     * Test case to verify that a host override replaces the default pool size for its host only.
+     */
+    @Test
+    void testWhenHostIsConfiguredThenItsPoolSizeIsOverridden() {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setMaxConnections(20);
+        properties.getHosts().put("wmstk", host("http://wmstk:8080/notification", 5));
+        properties.getHosts().put("note-service", host("https://notes/notes", null));
+
+        connectionProvider = HttpClientConfiguration.connectionProvider(properties);
+
+        assertAll(
+                () -> assertThat(connectionProvider.maxConnections()).isEqualTo(20),
+                () -> assertThat(connectionProvider.maxConnectionsPerHost()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                        InetSocketAddress.createUnresolved("wmstk", 8080), 5,
+                        InetSocketAddress.createUnresolved("notes", 443), 20
+                ))
+        );
+    }
+
+    private static HttpClientProperties.Host host(String url, Integer maxConnections) {
+        HttpClientProperties.Host host = new HttpClientProperties.Host();
+        host.setUrl(url);
+        host.setMaxConnections(maxConnections);
+        return host;
+    }
+}
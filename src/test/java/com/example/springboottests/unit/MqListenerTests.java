@@ -0,0 +1,133 @@
+package com.example.springboottests.unit;
+
+import com.example.springboottests.functional.net.SenderUnavailableException;
+import com.example.springboottests.functional.note.MqListener;
+import com.example.springboottests.functional.note.NoteProcessor;
+import com.example.springboottests.functional.note.SessionErrorHandler;
+import com.example.springboottests.functional.note.exception.XmlConverterException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.jms.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for the error handling of the {@link MqListener}.
+ *
+ * @author Georgii Lvov
+ */
+@ExtendWith(MockitoExtension.class)
+class MqListenerTests {
+
+    private static final String NOTE_XML = "<note><noteId>1</noteId></note>";
+    private static final long UNAVAILABLE_BACKOFF_MS = 300;
+
+    @Mock
+    private NoteProcessor noteProcessor;
+
+    @Mock
+    private Session session;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SessionErrorHandler errorHandler;
+    private MqListener mqListener;
+
+    @BeforeEach
+    void setUp() {
+        errorHandler = new SessionErrorHandler();
+
+        ReflectionTestUtils.setField(errorHandler, "unavailableBackoffMs", UNAVAILABLE_BACKOFF_MS);
+
+        mqListener = new MqListener(noteProcessor, errorHandler, meterRegistry, "notes");
+    }
+
+    /**
+     * Test case to verify that when the destination is unavailable, the session is rolled back
+     * only after the back-off, so that the message is not redelivered at once.
+     */
+    @Test
+    void testWhenDestinationUnavailableThenSessionIsRolledBackAfterBackoff() throws Exception {
+        AtomicLong rolledBackAt = new AtomicLong();
+
+        doThrow(new SenderUnavailableException("Circuit of target 'note-service' is open"))
+                .when(noteProcessor).process(NOTE_XML);
+        doAnswer(invocation -> {
+            rolledBackAt.set(System.nanoTime());
+            return null;
+        }).when(session).rollback();
+
+        long receivedAt = System.nanoTime();
+
+        mqListener.receiveMessage(NOTE_XML, session);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(rolledBackAt.get() - receivedAt))
+                .isGreaterThanOrEqualTo(UNAVAILABLE_BACKOFF_MS);
+        verify(session, never()).commit();
+    }
+
+    /**
+     * Test case to verify that a message failed with an error not requiring a rollback is committed
+     * without a back-off.
+     */
+    @Test
+    void testWhenInvalidMessageThenSessionIsCommittedWithoutBackoff() throws Exception {
+        ReflectionTestUtils.setField(errorHandler, "unavailableBackoffMs", TimeUnit.MINUTES.toMillis(10));
+
+        doThrow(new XmlConverterException("Invalid XML", new IllegalArgumentException()))
+                .when(noteProcessor).process(NOTE_XML);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> mqListener.receiveMessage(NOTE_XML, session));
+
+        verify(session).commit();
+        verify(session, never()).rollback();
+    }
+
+    /**
+     * Test case to verify that the processed messages are counted per consumer thread and by outcome,
+     * and the processing time is recorded per consumer thread.
+     */
+    @Test
+    void testWhenMessagesProcessedThenTheyAreCountedPerConsumerAndOutcome() throws Exception {
+        String consumer = Thread.currentThread().getName();
+
+        mqListener.receiveMessage(NOTE_XML, session);
+        mqListener.receiveMessage(NOTE_XML, session);
+
+        doThrow(new XmlConverterException("Invalid XML", new IllegalArgumentException()))
+                .when(noteProcessor).process("<invalid>");
+
+        mqListener.receiveMessage("<invalid>", session);
+
+        assertAll(
+                () -> assertEquals(2, messageCount(consumer, "success")),
+                () -> assertEquals(1, messageCount(consumer, "failure")),
+                () -> assertEquals(3, meterRegistry.get("mq.listener.processing")
+                        .tags("queue", "notes", "consumer", consumer).timer().count()),
+                () -> assertEquals(0, meterRegistry.get("mq.listener.in-flight").tag("queue", "notes").gauge().value())
+        );
+    }
+
+    private double messageCount(String consumer, String outcome) {
+        return meterRegistry.get("mq.listener.messages")
+                .tags("queue", "notes", "consumer", consumer, "outcome", outcome)
+                .counter()
+                .count();
+    }
+}
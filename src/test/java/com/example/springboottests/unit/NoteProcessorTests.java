@@ -0,0 +1,96 @@
+package com.example.springboottests.unit;
+
+import com.example.springboottests.functional.net.GeneralSender;
+import com.example.springboottests.functional.net.SenderUnavailableException;
+import com.example.springboottests.functional.note.NoteProcessor;
+import com.example.springboottests.functional.note.XmlConverter;
+import com.example.springboottests.functional.note.exception.XmlConverterException;
+import com.example.springboottests.functional.note.model.Note;
+import com.example.springboottests.functional.note.model.NoteInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the non-blocking processing of the {@link NoteProcessor}.
+ *
+ * @author Georgii Lvov
+ */
+@ExtendWith(MockitoExtension.class)
+class NoteProcessorTests {
+
+    private static final String NOTE_SERVICE_URL = "http://localhost/notes";
+    private static final String NOTE_XML = "<note><noteId>1</noteId></note>";
+
+    @InjectMocks
+    private NoteProcessor noteProcessor;
+
+    @Mock
+    private XmlConverter xmlConverter;
+
+    @Mock
+    private GeneralSender generalSender;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(noteProcessor, "noteServiceUrl", NOTE_SERVICE_URL);
+    }
+
+    /**
+     * Test case to verify that the converted note is sent to the Note-Service when the returned Mono is subscribed.
+     */
+    @Test
+    void testWhenProcessAsyncThenNoteInfoIsSent() {
+        when(xmlConverter.toObject(NOTE_XML, Note.class)).thenReturn(new Note("1"));
+        when(generalSender.sendAsync(eq(NOTE_SERVICE_URL), eq(HttpMethod.POST), any(), any(), eq(Void.class)))
+                .thenReturn(Mono.empty());
+
+        noteProcessor.processAsync(NOTE_XML).block();
+
+        verify(generalSender).sendAsync(eq(NOTE_SERVICE_URL), eq(HttpMethod.POST), eq(new NoteInfo("1", "PROCESSED")),
+                any(), eq(Void.class));
+    }
+
+    /**
+     * Test case to verify that a conversion error is signalled by the returned Mono instead of being thrown,
+     * and nothing is sent.
+     */
+    @Test
+    void testWhenXmlIsInvalidThenErrorIsSignalledAndNothingIsSent() {
+        when(xmlConverter.toObject(anyString(), eq(Note.class)))
+                .thenThrow(new XmlConverterException("Invalid XML", new IllegalArgumentException()));
+
+        Mono<Void> processing = noteProcessor.processAsync("<invalid>");
+
+        assertThrows(XmlConverterException.class, processing::block);
+        verify(generalSender, never()).sendAsync(anyString(), any(), any(), any(), any());
+    }
+
+    /**
+     * Test case to verify that an error of the Note-Service call is propagated by the returned Mono.
+     */
+    @Test
+    void testWhenSendFailsThenErrorIsSignalled() {
+        when(xmlConverter.toObject(NOTE_XML, Note.class)).thenReturn(new Note("1"));
+        when(generalSender.sendAsync(eq(NOTE_SERVICE_URL), eq(HttpMethod.POST), any(), any(), eq(Void.class)))
+                .thenReturn(Mono.error(new SenderUnavailableException("Circuit of target 'note-service' is open")));
+
+        Mono<Void> processing = noteProcessor.processAsync(NOTE_XML);
+
+        assertThrows(SenderUnavailableException.class, processing::block);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.springboottests.unit;
+
+import com.example.springboottests.configuration.OrderCacheProperties;
+import com.example.springboottests.functional.order.model.OrderDto;
+import com.example.springboottests.functional.order.service.OrderCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * Unit tests for the {@link OrderCache}.
+ * <p>
+ * No transaction is active in these tests, so writes are applied immediately.
+ *
+ * @author Georgii Lvov
+ */
+class OrderCacheTests {
+
+    private MeterRegistry meterRegistry;
+    private OrderCache orderCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        orderCache = new OrderCache(new OrderCacheProperties(), meterRegistry);
+    }
+
+    /**
+     * Test case to verify that a cached order is returned without calling the loader again.
+     */
+    @Test
+    void testWhenOrderCachedThenLoaderIsNotCalled() {
+        AtomicInteger loads = new AtomicInteger();
+        OrderDto orderDto = new OrderDto(1L, "wo_id_1", "CREATED", 0L);
+
+        orderCache.getById(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(orderDto);
+        });
+        Optional<OrderDto> cached = orderCache.getById(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+
+        assertAll(
+                () -> assertThat(cached).contains(orderDto),
+                () -> assertThat(loads).hasValue(1),
+                () -> assertThat(meterRegistry.get("cache.gets").tag("cache", "orders.by-id")
+                        .tag("result", "hit").functionCounter().count()).isEqualTo(1)
+        );
+    }
+
+    /**
+     * Test case to verify that a lookup by a workorder ID the order no longer has is loaded again.
+     */
+    @Test
+    void testWhenWorkorderIdChangedThenOrderIsLoadedAgain() {
+        orderCache.putAfterCommit(new OrderDto(1L, "wo_id_1", "CREATED", 0L));
+        orderCache.putAfterCommit(new OrderDto(1L, "wo_id_2", "CREATED", 1L));
+
+        Optional<OrderDto> found = orderCache.getByWorkorderId("wo_id_1", workorderId -> Optional.empty());
+
+        assertThat(found).isEmpty();
+    }
+
+    /**
+     * Test case to verify that a cached order is not replaced by an older version.
+     */
+    @Test
+    void testWhenOlderVersionPutThenNewerVersionIsKept() {
+        OrderDto newer = new OrderDto(1L, "wo_id_1", "PROCESSED", 2L);
+
+        orderCache.putAfterCommit(newer);
+        orderCache.putAfterCommit(new OrderDto(1L, "wo_id_1", "CREATED", 1L));
+
+        assertThat(orderCache.getById(1L, id -> Optional.empty())).contains(newer);
+    }
+
+    /**
+     * Test case to verify that an evicted order is loaded again.
+     */
+    @Test
+    void testWhenOrderEvictedThenOrderIsLoadedAgain() {
+        OrderDto loaded = new OrderDto(1L, "wo_id_1", "PROCESSED", 1L);
+
+        orderCache.putAfterCommit(new OrderDto(1L, "wo_id_1", "CREATED", 0L));
+        orderCache.evictAfterCommit(1L);
+
+        assertThat(orderCache.getById(1L, id -> Optional.of(loaded))).contains(loaded);
+    }
+}
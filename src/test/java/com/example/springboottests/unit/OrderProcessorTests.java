@@ -1,23 +1,37 @@
 package com.example.springboottests.unit;
 
 import com.example.springboottests.functional.net.SenderPermanentException;
+import com.example.springboottests.functional.order.exception.OrderConflictException;
 import com.example.springboottests.functional.order.exception.OrderNotFoundException;
 import com.example.springboottests.functional.order.exception.OrderProcessingException;
+import com.example.springboottests.functional.order.exception.OrderVersionMismatchException;
 import com.example.springboottests.functional.order.model.OrderDto;
 import com.example.springboottests.functional.order.model.OrderRequest;
+import com.example.springboottests.functional.order.model.OrderUpdateResult;
+import com.example.springboottests.functional.order.service.OrderOutbox;
 import com.example.springboottests.functional.order.service.OrderProcessor;
 import com.example.springboottests.functional.order.service.OrderService;
 import com.example.springboottests.functional.order.service.WmstkNotificationSender;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -41,6 +55,12 @@ class OrderProcessorTests {
     @Mock
     private WmstkNotificationSender wmstkNotificationSender;
 
+    @Mock
+    private OrderOutbox orderOutbox;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     /**
      * Test case to verify that the {@link OrderProcessor} successfully returns an {@link OrderDto}.
      */
@@ -49,9 +69,9 @@ class OrderProcessorTests {
         OrderRequest orderRequest = getOrderRequest();
         OrderDto expectedOrderDto = getOrderDto();
 
-        when(orderService.updateOrder(any(), any())).thenReturn(expectedOrderDto);
+        when(orderService.updateOrder(any(), any(), any())).thenReturn(OrderUpdateResult.changed(expectedOrderDto));
 
-        OrderDto actualOrderDto = orderProcessor.updateOrder(1L, orderRequest);
+        OrderDto actualOrderDto = orderProcessor.updateOrder(1L, orderRequest, null);
 
         assertEquals(expectedOrderDto, actualOrderDto);
     }
@@ -64,11 +84,11 @@ class OrderProcessorTests {
     void testWhenOrderServiceThrowsExceptionThenOrderProcessorThrowsException() {
         OrderRequest orderRequest = getOrderRequest();
 
-        when(orderService.updateOrder(any(), any())).thenThrow(OrderNotFoundException.class);
+        when(orderService.updateOrder(any(), any(), any())).thenThrow(OrderNotFoundException.class);
 
         assertThrows(
                 OrderNotFoundException.class,
-                () -> orderProcessor.updateOrder(1L, orderRequest)
+                () -> orderProcessor.updateOrder(1L, orderRequest, null)
         );
     }
 
@@ -80,12 +100,105 @@ class OrderProcessorTests {
     void testWhenWmstkNotificationSenderThrowsExceptionThenOrderProcessorThrowsException() {
         OrderRequest orderRequest = getOrderRequest();
 
+        when(orderService.updateOrder(any(), any(), any())).thenReturn(OrderUpdateResult.changed(getOrderDto()));
         doThrow(SenderPermanentException.class).when(wmstkNotificationSender).sendNotification(any());
 
         assertThrows(
                 OrderProcessingException.class,
-                () -> orderProcessor.updateOrder(1L, orderRequest)
+                () -> orderProcessor.updateOrder(1L, orderRequest, null)
+        );
+    }
+
+    /**
+     * Test case to verify that when the outbox is enabled, the {@link WmstkNotificationSender} is not called,
+     * since the notification has already been written to the outbox.
+     */
+    @Test
+    void testWhenOutboxEnabledThenWmstkNotificationSenderIsNotCalled() {
+        OrderRequest orderRequest = getOrderRequest();
+
+        when(orderService.updateOrder(any(), any(), any())).thenReturn(OrderUpdateResult.changed(getOrderDto()));
+        when(orderOutbox.isEnabled()).thenReturn(true);
+
+        orderProcessor.updateOrder(1L, orderRequest, null);
+
+        verify(wmstkNotificationSender, never()).sendNotification(any());
+    }
+
+    /**
+     * Test case to verify that when the order is unchanged, the {@link WmstkNotificationSender} is not called
+     * and the no-op counter is incremented.
+     */
+    @Test
+    void testWhenOrderUnchangedThenWmstkNotificationSenderIsNotCalled() {
+        OrderRequest orderRequest = getOrderRequest();
+        OrderDto expectedOrderDto = getOrderDto();
+
+        when(orderService.updateOrder(any(), any(), any())).thenReturn(OrderUpdateResult.unchanged(expectedOrderDto));
+
+        OrderDto actualOrderDto = orderProcessor.updateOrder(1L, orderRequest, null);
+
+        assertAll(
+                () -> assertEquals(expectedOrderDto, actualOrderDto),
+                () -> verify(wmstkNotificationSender, never()).sendNotification(any()),
+                () -> assertThat(meterRegistry.get("order.update.noop").counter().count()).isEqualTo(1)
+        );
+    }
+
+    /**
+     * Test case to verify that an update without expected version is retried after a concurrent modification.
+     */
+    @Test
+    void testWhenConcurrentModificationThenUpdateIsRetried() {
+        OrderRequest orderRequest = getOrderRequest();
+        OrderDto expectedOrderDto = getOrderDto();
+
+        ReflectionTestUtils.setField(orderProcessor, "conflictMaxAttempts", 3);
+        when(orderService.updateOrder(any(), any(), any()))
+                .thenThrow(OptimisticLockingFailureException.class)
+                .thenReturn(OrderUpdateResult.changed(expectedOrderDto));
+
+        OrderDto actualOrderDto = orderProcessor.updateOrder(1L, orderRequest, null);
+
+        assertAll(
+                () -> assertEquals(expectedOrderDto, actualOrderDto),
+                () -> verify(orderService, times(2)).updateOrder(any(), any(), any())
+        );
+    }
+
+    /**
+     * Test case to verify that an {@link OrderConflictException} is thrown when all attempts conflict.
+     */
+    @Test
+    void testWhenConcurrentModificationPersistsThenOrderConflictExceptionIsThrown() {
+        OrderRequest orderRequest = getOrderRequest();
+
+        ReflectionTestUtils.setField(orderProcessor, "conflictMaxAttempts", 3);
+        when(orderService.updateOrder(any(), any(), any())).thenThrow(OptimisticLockingFailureException.class);
+
+        assertThrows(
+                OrderConflictException.class,
+                () -> orderProcessor.updateOrder(1L, orderRequest, null)
+        );
+
+        verify(orderService, times(3)).updateOrder(any(), any(), any());
+    }
+
+    /**
+     * Test case to verify that an update with expected version is not retried after a concurrent modification.
+     */
+    @Test
+    void testWhenConcurrentModificationWithExpectedVersionThenOrderVersionMismatchExceptionIsThrown() {
+        OrderRequest orderRequest = getOrderRequest();
+
+        when(orderService.updateOrder(any(), any(), any())).thenThrow(OptimisticLockingFailureException.class);
+
+        assertThrows(
+                OrderVersionMismatchException.class,
+                () -> orderProcessor.updateOrder(1L, orderRequest, 1L)
         );
+
+        verify(orderService).updateOrder(any(), any(), any());
     }
 
     private static OrderRequest getOrderRequest() {
@@ -0,0 +1,66 @@
+package com.example.springboottests.unit;
+
+import com.example.springboottests.functional.net.PayloadEncoder;
+import com.example.springboottests.functional.note.model.NoteInfo;
+import com.example.springboottests.functional.order.model.OrderDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link PayloadEncoder}.
+ *
+ * @author Georgii Lvov
+ */
+class PayloadEncoderTests {
+
+    private final PayloadEncoder payloadEncoder = new PayloadEncoder(new ObjectMapper());
+
+    /**
+     * Test case to verify that an order is encoded to JSON without its version.
+     */
+    @Test
+    void testWhenOrderThenItIsEncodedToJson() {
+        String json = encode(new OrderDto(1L, "wo_id_1", "PROCESSED", 3L));
+
+        assertThat(json).isEqualTo("{\"id\":1,\"workorderId\":\"wo_id_1\",\"state\":\"PROCESSED\"}");
+    }
+
+    /**
+     * Test case to verify that payloads of the same type are encoded consistently with the cached writer.
+     */
+    @Test
+    void testWhenSameTypeEncodedTwiceThenResultsMatch() {
+        encode(new NoteInfo("note_id_1", "PROCESSED"));
+
+        String json = encode(new NoteInfo("note_id_2", "PROCESSED"));
+
+        assertThat(json).isEqualTo("{\"noteId\":\"note_id_2\",\"noteStatus\":\"PROCESSED\"}");
+    }
+
+    /**
+     * Test case to verify that a pre-serialized payload is sent as it is.
+     */
+    @Test
+    void testWhenByteArrayThenItIsPassedThrough() {
+        byte[] payload = "<note><noteId>note_id_value</noteId></note>".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(payloadEncoder.isPreSerialized(payload)).isTrue();
+        assertThat(encode(payload)).isEqualTo("<note><noteId>note_id_value</noteId></note>");
+    }
+
+    private String encode(Object payload) {
+        DataBuffer buffer = payloadEncoder.encode(payload).block();
+
+        try {
+            return buffer.toString(StandardCharsets.UTF_8);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.springboottests.unit;
+
+import com.example.springboottests.configuration.oauth2.RefreshAheadAuthorizedClientManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link RefreshAheadAuthorizedClientManager}.
+ *
+ * @author Georgii Lvov
+ */
+@ExtendWith(MockitoExtension.class)
+class RefreshAheadAuthorizedClientManagerTests {
+
+    private static final String REGISTRATION_ID = "tardis";
+    private static final String PRINCIPAL = "anonymousUser";
+    private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+
+    @Mock
+    private OAuth2AuthorizedClientManager delegate;
+
+    @Mock
+    private OAuth2AuthorizedClientService clientService;
+
+    private MeterRegistry meterRegistry;
+    private RefreshAheadAuthorizedClientManager clientManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clientManager = new RefreshAheadAuthorizedClientManager(
+                delegate, clientService, Duration.ofSeconds(60), Clock.fixed(NOW, ZoneOffset.UTC), meterRegistry);
+    }
+
+    /**
+     * Test case to verify that a token not expiring within the refresh-ahead window is served without fetching.
+     */
+    @Test
+    void testWhenTokenIsFreshThenItIsServedWithoutFetching() {
+        OAuth2AuthorizedClient authorizedClient = authorizedClient(NOW.minusSeconds(30), NOW.plusSeconds(300));
+
+        when(clientService.loadAuthorizedClient(REGISTRATION_ID, PRINCIPAL)).thenReturn(authorizedClient);
+
+        assertAll(
+                () -> assertThat(clientManager.authorize(authorizeRequest())).isSameAs(authorizedClient),
+                () -> assertThat(meterRegistry.get("oauth2.client.token.age").gauge().value()).isEqualTo(30)
+        );
+
+        verifyNoInteractions(delegate);
+    }
+
+    /**
+     * Test case to verify that concurrent callers without a token share a single fetch.
+     * The second caller is started only once the fetch of the first one is in progress,
+     * and the fetch is released only once the second caller waits for it.
+     */
+    @Test
+    void testWhenConcurrentCallersThenTokenIsFetchedOnce() throws Exception {
+        OAuth2AuthorizedClient authorizedClient = authorizedClient(NOW, NOW.plusSeconds(300));
+        AtomicReference<OAuth2AuthorizedClient> savedClient = new AtomicReference<>();
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFetch = new CountDownLatch(1);
+
+        when(clientService.loadAuthorizedClient(REGISTRATION_ID, PRINCIPAL)).thenAnswer(invocation -> savedClient.get());
+        when(delegate.authorize(any())).thenAnswer(invocation -> {
+            fetchStarted.countDown();
+            releaseFetch.await(5, TimeUnit.SECONDS);
+            savedClient.set(authorizedClient);
+            return authorizedClient;
+        });
+
+        CompletableFuture<OAuth2AuthorizedClient> first =
+                CompletableFuture.supplyAsync(() -> clientManager.authorize(authorizeRequest()));
+
+        assertThat(fetchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        FutureTask<OAuth2AuthorizedClient> second = new FutureTask<>(() -> clientManager.authorize(authorizeRequest()));
+        Thread secondCaller = new Thread(second);
+
+        secondCaller.start();
+
+        // no token has been saved yet, so the second caller can only be waiting for the fetch in flight
+        await().atMost(5, TimeUnit.SECONDS).until(() -> secondCaller.getState() == Thread.State.WAITING);
+        releaseFetch.countDown();
+
+        assertAll(
+                () -> assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(authorizedClient),
+                () -> assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(authorizedClient),
+                () -> assertThat(meterRegistry.get("oauth2.client.token.refresh").timer().count()).isEqualTo(1)
+        );
+
+        verify(delegate, times(1)).authorize(any());
+    }
+
+    /**
+     * Test case to verify that the background refresh fetches a token expiring within the refresh-ahead window.
+     */
+    @Test
+    void testWhenTokenExpiresSoonThenItIsRefreshedInBackground() {
+        OAuth2AuthorizedClient freshClient = authorizedClient(NOW.minusSeconds(10), NOW.plusSeconds(300));
+        OAuth2AuthorizedClient expiringClient = authorizedClient(NOW.minusSeconds(270), NOW.plusSeconds(30));
+
+        when(clientService.loadAuthorizedClient(REGISTRATION_ID, PRINCIPAL))
+                .thenReturn(freshClient, expiringClient);
+
+        clientManager.authorize(authorizeRequest());
+        clientManager.refreshExpiring();
+
+        verify(delegate).authorize(argThat(request ->
+                REGISTRATION_ID.equals(request.getClientRegistrationId())
+                        && PRINCIPAL.equals(request.getPrincipal().getName())));
+    }
+
+    /**
+     * Test case to verify that invalidating a client removes its token.
+     */
+    @Test
+    void testWhenInvalidatedThenTokenIsRemoved() {
+        clientManager.invalidate(REGISTRATION_ID, PRINCIPAL);
+
+        verify(clientService).removeAuthorizedClient(REGISTRATION_ID, PRINCIPAL);
+    }
+
+    private static OAuth2AuthorizeRequest authorizeRequest() {
+        return OAuth2AuthorizeRequest.withClientRegistrationId(REGISTRATION_ID)
+                .principal(PRINCIPAL)
+                .build();
+    }
+
+    private static OAuth2AuthorizedClient authorizedClient(Instant issuedAt, Instant expiresAt) {
+        ClientRegistration clientRegistration = ClientRegistration.withRegistrationId(REGISTRATION_ID)
+                .clientId("client")
+                .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                .tokenUri("http://localhost/token")
+                .build();
+
+        OAuth2AccessToken accessToken =
+                new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "token", issuedAt, expiresAt);
+
+        return new OAuth2AuthorizedClient(clientRegistration, PRINCIPAL, accessToken);
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.springboottests.unit;
+
+import com.example.springboottests.configuration.CircuitBreakerProperties;
+import com.example.springboottests.functional.net.PreConditionException;
+import com.example.springboottests.functional.net.SenderCircuitBreaker;
+import com.example.springboottests.functional.net.SenderPermanentException;
+import com.example.springboottests.functional.net.SenderUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for the {@link SenderCircuitBreaker}.
+ * <p>
+ * These tests verify the state transitions, the bulkhead and the metrics of {@link SenderCircuitBreaker}
+ * in isolation, using a {@link SimpleMeterRegistry} and a small sliding window.
+ *
+ * @author Georgii Lvov
+ */
+class SenderCircuitBreakerTests {
+
+    private static final String URL = "http://localhost/notification";
+
+    private CircuitBreakerProperties properties;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CircuitBreakerProperties();
+        properties.setSlidingWindowSize(4);
+        properties.setMinimumNumberOfCalls(4);
+        properties.setFailureRateThreshold(50);
+        properties.setWaitDurationInOpenState(Duration.ofMinutes(1));
+        properties.setPermittedCallsInHalfOpenState(2);
+
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    /**
+     * Test case to verify that the circuit opens once the failure rate reaches the threshold
+     * and further requests fail without being sent.
+     */
+    @Test
+    void testWhenFailureRateReachedThenCircuitOpensAndRequestsFailFast() {
+        SenderCircuitBreaker circuitBreaker = new SenderCircuitBreaker(properties, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        callTimes(circuitBreaker, 2, succeeding(attempts));
+        callTimes(circuitBreaker, 2, failing(attempts));
+
+        Mono<String> request = circuitBreaker.apply(URL, succeeding(attempts));
+
+        assertThrows(SenderUnavailableException.class, request::block);
+
+        assertAll(
+                () -> assertThat(attempts).hasValue(4),
+                () -> assertThat(transitions("closed", "open")).isEqualTo(1),
+                () -> assertThat(rejections("circuit-open")).isEqualTo(1),
+                () -> assertThat(state()).isEqualTo(1)
+        );
+    }
+
+    /**
+     * Test case to verify that the circuit closes again once all probe calls in the half-open state succeed.
+     */
+    @Test
+    void testWhenProbeCallsSucceedThenCircuitCloses() {
+        properties.setWaitDurationInOpenState(Duration.ZERO);
+        SenderCircuitBreaker circuitBreaker = new SenderCircuitBreaker(properties, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        callTimes(circuitBreaker, 4, failing(attempts));
+        callTimes(circuitBreaker, 2, succeeding(attempts));
+
+        assertAll(
+                () -> assertThat(attempts).hasValue(6),
+                () -> assertThat(transitions("closed", "open")).isEqualTo(1),
+                () -> assertThat(transitions("open", "half_open")).isEqualTo(1),
+                () -> assertThat(transitions("half_open", "closed")).isEqualTo(1),
+                () -> assertThat(state()).isZero()
+        );
+    }
+
+    /**
+     * Test case to verify that a failed probe call opens the circuit again.
+     */
+    @Test
+    void testWhenProbeCallFailsThenCircuitOpensAgain() {
+        properties.setWaitDurationInOpenState(Duration.ZERO);
+        SenderCircuitBreaker circuitBreaker = new SenderCircuitBreaker(properties, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        callTimes(circuitBreaker, 5, failing(attempts));
+
+        assertAll(
+                () -> assertThat(transitions("half_open", "open")).isEqualTo(1),
+                () -> assertThat(state()).isEqualTo(1)
+        );
+    }
+
+    /**
+     * Test case to verify that client errors, such as a failed precondition, do not open the circuit.
+     */
+    @Test
+    void testWhenPreConditionExceptionThenCircuitStaysClosed() {
+        SenderCircuitBreaker circuitBreaker = new SenderCircuitBreaker(properties, meterRegistry);
+
+        callTimes(circuitBreaker, 4, Mono.error(new PreConditionException("Precondition failed", null)));
+
+        assertAll(
+                () -> assertThat(state()).isZero(),
+                () -> assertThat(meterRegistry.find("sender.circuit-breaker.transitions").counter()).isNull()
+        );
+    }
+
+    /**
+     * Parameterized test case to verify that client errors and local errors do not open the circuit.
+     *
+     * @param error the error of the request
+     */
+    @ParameterizedTest
+    @MethodSource
+    void testWhenClientOrLocalErrorThenCircuitStaysClosed(Throwable error) {
+        SenderCircuitBreaker circuitBreaker = new SenderCircuitBreaker(properties, meterRegistry);
+
+        callTimes(circuitBreaker, 4, Mono.error(error));
+
+        assertThat(state()).isZero();
+    }
+
+    /**
+     * Provides a client error response, an encoding error of the request body and an unexpected local error.
+     *
+     * @return a stream of errors
+     */
+    static Stream<Throwable> testWhenClientOrLocalErrorThenCircuitStaysClosed() {
+        return Stream.of(
+                new SenderPermanentException("Failed to send request!", responseException(HttpStatus.BAD_REQUEST)),
+                new SenderPermanentException("Failed to send request!", new WebClientRequestException(
+                        new SenderPermanentException("Failed to encode request body!", new IOException()),
+                        HttpMethod.POST, URI.create(URL), HttpHeaders.EMPTY)),
+                new SenderPermanentException("Failed to send request!", new IllegalStateException())
+        );
+    }
+
+    /**
+     * Test case to verify that server errors open the circuit.
+     */
+    @Test
+    void testWhenServerErrorsThenCircuitOpens() {
+        SenderCircuitBreaker circuitBreaker = new SenderCircuitBreaker(properties, meterRegistry);
+
+        callTimes(circuitBreaker, 4, Mono.error(new SenderPermanentException("Failed to send request!",
+                responseException(HttpStatus.SERVICE_UNAVAILABLE))));
+
+        assertThat(state()).isEqualTo(1);
+    }
+
+    /**
+     * Test case to verify that requests exceeding the maximum number of concurrent calls are rejected.
+     */
+    @Test
+    void testWhenMaxConcurrentCallsReachedThenRequestIsRejected() {
+        properties.setMaxConcurrentCalls(1);
+        SenderCircuitBreaker circuitBreaker = new SenderCircuitBreaker(properties, meterRegistry);
+
+        Disposable pending = circuitBreaker.apply(URL, Mono.never()).subscribe();
+        Mono<String> request = circuitBreaker.apply(URL, Mono.just("OK"));
+
+        assertThrows(SenderUnavailableException.class, request::block);
+
+        pending.dispose();
+
+        assertAll(
+                () -> assertThat(rejections("bulkhead-full")).isEqualTo(1),
+                () -> assertThat(circuitBreaker.apply(URL, Mono.just("OK")).block()).isEqualTo("OK")
+        );
+    }
+
+    private double transitions(String from, String to) {
+        return meterRegistry.get("sender.circuit-breaker.transitions")
+                .tags("target", "localhost", "from", from, "to", to)
+                .counter()
+                .count();
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.get("sender.circuit-breaker.rejections")
+                .tags("target", "localhost", "reason", reason)
+                .counter()
+                .count();
+    }
+
+    private double state() {
+        return meterRegistry.get("sender.circuit-breaker.state").tag("target", "localhost").gauge().value();
+    }
+
+    private static void callTimes(SenderCircuitBreaker circuitBreaker, int times, Mono<String> exchange) {
+        for (int i = 0; i < times; i++) {
+            circuitBreaker.apply(URL, exchange).onErrorResume(e -> Mono.empty()).block();
+        }
+    }
+
+    private static Mono<String> succeeding(AtomicInteger attempts) {
+        return Mono.fromCallable(() -> {
+            attempts.incrementAndGet();
+            return "OK";
+        });
+    }
+
+    private static Mono<String> failing(AtomicInteger attempts) {
+        return Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new SenderPermanentException("Failed to send request!", new WebClientRequestException(
+                    new IOException("Connection refused"), HttpMethod.POST, URI.create(URL), HttpHeaders.EMPTY)));
+        });
+    }
+
+    private static WebClientResponseException responseException(HttpStatus status) {
+        return WebClientResponseException.create(status.value(), status.getReasonPhrase(), HttpHeaders.EMPTY,
+                new byte[0], null);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.springboottests.unit;
+
+import com.example.springboottests.configuration.RetryProperties;
+import com.example.springboottests.functional.net.PreConditionException;
+import com.example.springboottests.functional.net.SenderPermanentException;
+import com.example.springboottests.functional.net.SenderRetry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for the {@link SenderRetry}.
+ * <p>
+ * These tests verify the retry decisions and the counters of {@link SenderRetry} in isolation,
+ * using a {@link SimpleMeterRegistry} and short backoff delays.
+ *
+ * @author Georgii Lvov
+ */
+class SenderRetryTests {
+
+    private static final String URL = "http://localhost/notification";
+
+    private MeterRegistry meterRegistry;
+    private SenderRetry senderRetry;
+
+    @BeforeEach
+    void setUp() {
+        RetryProperties properties = new RetryProperties();
+        properties.setMaxAttempts(3);
+        properties.setInitialBackoff(Duration.ofMillis(5));
+        properties.setMaxBackoff(Duration.ofMillis(10));
+
+        meterRegistry = new SimpleMeterRegistry();
+        senderRetry = new SenderRetry(properties, meterRegistry);
+    }
+
+    /**
+     * Test case to verify that a request failed with {@link PreConditionException} is retried until it succeeds.
+     */
+    @Test
+    void testWhenPreConditionExceptionThenRequestIsRetriedUntilSuccess() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = senderRetry.apply(URL, failingTimes(2, attempts)).block();
+
+        assertAll(
+                () -> assertThat(result).isEqualTo("OK"),
+                () -> assertThat(attempts).hasValue(3),
+                () -> assertThat(counter("sender.retry.attempts")).isEqualTo(2),
+                () -> assertThat(counter("sender.retry.successes")).isEqualTo(1)
+        );
+    }
+
+    /**
+     * Test case to verify that the last {@link PreConditionException} is propagated once the attempts are exhausted.
+     */
+    @Test
+    void testWhenAttemptsExhaustedThenPreConditionExceptionIsThrown() {
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> request = senderRetry.apply(URL, failingTimes(Integer.MAX_VALUE, attempts));
+
+        assertThrows(PreConditionException.class, request::block);
+
+        assertAll(
+                () -> assertThat(attempts).hasValue(3),
+                () -> assertThat(counter("sender.retry.exhaustions")).isEqualTo(1)
+        );
+    }
+
+    /**
+     * Test case to verify that other exceptions are not retried.
+     */
+    @Test
+    void testWhenSenderPermanentExceptionThenRequestIsNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> request = senderRetry.apply(URL, Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.<String>error(new SenderPermanentException("Failed to send request!", null));
+        }));
+
+        assertThrows(SenderPermanentException.class, request::block);
+
+        assertThat(attempts).hasValue(1);
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).tag("target", "default").counter().count();
+    }
+
+    private static Mono<String> failingTimes(int failures, AtomicInteger attempts) {
+        return Mono.defer(() -> attempts.incrementAndGet() <= failures
+                ? Mono.<String>error(new PreConditionException("Precondition failed", null))
+                : Mono.just("OK"));
+    }
+}
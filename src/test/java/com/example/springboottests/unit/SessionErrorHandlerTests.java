@@ -1,5 +1,6 @@
 package com.example.springboottests.unit;
 
+import com.example.springboottests.functional.net.SenderUnavailableException;
 import com.example.springboottests.functional.note.SessionErrorHandler;
 import jakarta.jms.JMSException;
 import jakarta.jms.Session;
@@ -12,6 +13,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -41,6 +44,18 @@ class SessionErrorHandlerTests {
         verify(session).rollback();
     }
 
+    /**
+     * Test case to verify that when the destination is unavailable, the session is rolled back
+     * so that the message is redelivered later.
+     */
+    @Test
+    void testWhenSenderUnavailableExceptionThenSessionIsRollback() throws Exception {
+        sessionErrorHandler.handleError(new SenderUnavailableException("Circuit of target 'note-service' is open"),
+                "<xml>message</xml>", session);
+
+        verify(session).rollback();
+    }
+
     /**
      * Parameterized test case to verify that when an exception other than {@link JMSException} occurs,
      * the session is committed.
@@ -55,6 +70,26 @@ class SessionErrorHandlerTests {
         verify(session).commit();
     }
 
+    /**
+     * Test case to verify that when a {@link JMSException} occurs within a batch, the batch must be rolled back.
+     */
+    @Test
+    void testWhenJmsExceptionInBatchThenBatchMustBeRolledBack() {
+        assertTrue(sessionErrorHandler.handleBatchError(new JMSException("reason"), "<xml>message</xml>"));
+    }
+
+    /**
+     * Parameterized test case to verify that when an exception other than {@link JMSException} occurs within a batch,
+     * the message is skipped and the batch is not rolled back.
+     *
+     * @param exception the exception to be tested
+     */
+    @ParameterizedTest
+    @MethodSource("testWhenOtherExceptionThenSessionIsCommitted")
+    void testWhenOtherExceptionInBatchThenMessageIsSkipped(Exception exception) {
+        assertFalse(sessionErrorHandler.handleBatchError(exception, "<xml>message</xml>"));
+    }
+
     /**
      * Provides a stream of exceptions for parameterized testing.
      *
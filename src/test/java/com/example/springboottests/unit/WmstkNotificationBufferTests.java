@@ -0,0 +1,78 @@
+package com.example.springboottests.unit;
+
+import com.example.springboottests.functional.order.model.OrderDto;
+import com.example.springboottests.functional.order.service.WmstkNotificationBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+/**
+ * Unit tests for the {@link WmstkNotificationBuffer}.
+ *
+ * @author Georgii Lvov
+ */
+class WmstkNotificationBufferTests {
+
+    /**
+     * Test case to verify that notifications for the same order are coalesced and the last state wins.
+     */
+    @Test
+    void testWhenSameOrderAddedTwiceThenLastStateWins() {
+        WmstkNotificationBuffer buffer = new WmstkNotificationBuffer(10);
+
+        buffer.add(new OrderDto(1L, "wo_id_1", "CREATED"));
+        buffer.add(new OrderDto(2L, "wo_id_2", "CREATED"));
+        buffer.add(new OrderDto(1L, "wo_id_1", "PROCESSED"));
+
+        assertThat(buffer.drain()).containsExactly(
+                new OrderDto(1L, "wo_id_1", "PROCESSED"),
+                new OrderDto(2L, "wo_id_2", "CREATED")
+        );
+    }
+
+    /**
+     * Test case to verify that the buffer reports when the maximum batch size is reached.
+     */
+    @Test
+    void testWhenMaxBatchSizeReachedThenFlushIsRequested() {
+        WmstkNotificationBuffer buffer = new WmstkNotificationBuffer(2);
+
+        assertAll(
+                () -> assertThat(buffer.add(new OrderDto(1L, "wo_id_1", "CREATED"))).isFalse(),
+                () -> assertThat(buffer.add(new OrderDto(1L, "wo_id_1", "PROCESSED"))).isFalse(),
+                () -> assertThat(buffer.add(new OrderDto(2L, "wo_id_2", "CREATED"))).isTrue()
+        );
+    }
+
+    /**
+     * Test case to verify that draining empties the buffer.
+     */
+    @Test
+    void testWhenDrainedThenBufferIsEmpty() {
+        WmstkNotificationBuffer buffer = new WmstkNotificationBuffer(10);
+
+        buffer.add(new OrderDto(1L, "wo_id_1", "CREATED"));
+        buffer.drain();
+
+        assertThat(buffer.drain()).isEmpty();
+    }
+
+    /**
+     * Test case to verify that re-queued notifications do not replace newer ones for the same order.
+     */
+    @Test
+    void testWhenRequeuedThenNewerNotificationsAreKept() {
+        WmstkNotificationBuffer buffer = new WmstkNotificationBuffer(10);
+
+        buffer.add(new OrderDto(1L, "wo_id_1", "PROCESSED"));
+        buffer.requeue(List.of(new OrderDto(1L, "wo_id_1", "CREATED"), new OrderDto(2L, "wo_id_2", "CREATED")));
+
+        assertThat(buffer.drain()).containsExactly(
+                new OrderDto(1L, "wo_id_1", "PROCESSED"),
+                new OrderDto(2L, "wo_id_2", "CREATED")
+        );
+    }
+}
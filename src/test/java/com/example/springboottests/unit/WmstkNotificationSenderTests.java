@@ -0,0 +1,102 @@
+package com.example.springboottests.unit;
+
+import com.example.springboottests.functional.net.GeneralSender;
+import com.example.springboottests.functional.net.SenderUnavailableException;
+import com.example.springboottests.functional.order.model.OrderDto;
+import com.example.springboottests.functional.order.service.OrderOutbox;
+import com.example.springboottests.functional.order.service.WmstkNotificationSender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the batching of the {@link WmstkNotificationSender}.
+ *
+ * @author Georgii Lvov
+ */
+@ExtendWith(MockitoExtension.class)
+class WmstkNotificationSenderTests {
+
+    private static final String BATCH_URL = "http://localhost/notifications";
+
+    @Mock
+    private GeneralSender generalSender;
+
+    @Mock
+    private OrderOutbox orderOutbox;
+
+    private WmstkNotificationSender wmstkNotificationSender;
+
+    @BeforeEach
+    void setUp() {
+        wmstkNotificationSender = new WmstkNotificationSender(generalSender, orderOutbox, new SimpleMeterRegistry(), 10);
+
+        ReflectionTestUtils.setField(wmstkNotificationSender, "batchEnabled", true);
+        ReflectionTestUtils.setField(wmstkNotificationSender, "wmstkBatchUrl", BATCH_URL);
+    }
+
+    /**
+     * Test case to verify that a batch failed to be sent is kept and sent with the next flush.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testWhenBatchFailsThenItIsSentWithNextFlush() {
+        OrderDto orderDto = new OrderDto(1L, "wo_id_1", "PROCESSED");
+
+        when(generalSender.send(eq(BATCH_URL), any(), any(), any(), eq(Void.class)))
+                .thenThrow(new SenderUnavailableException("Circuit of target 'wmstk' is open"))
+                .thenReturn(null);
+
+        wmstkNotificationSender.sendNotification(orderDto);
+
+        assertDoesNotThrow(wmstkNotificationSender::flush);
+        wmstkNotificationSender.flush();
+
+        ArgumentCaptor<Object> batchCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(generalSender, times(2)).send(eq(BATCH_URL), any(), batchCaptor.capture(), any(), eq(Void.class));
+
+        assertThat((List<OrderDto>) batchCaptor.getValue()).containsExactly(orderDto);
+    }
+
+    /**
+     * Test case to verify that a batch failed to be sent is written to the outbox if the outbox is in use.
+     */
+    @Test
+    void testWhenBatchFailsAndOutboxIsEnabledThenBatchIsWrittenToOutbox() {
+        OrderDto orderDto = new OrderDto(1L, "wo_id_1", "PROCESSED");
+
+        when(orderOutbox.isEnabled()).thenReturn(true);
+        when(generalSender.send(eq(BATCH_URL), any(), any(), any(), eq(Void.class)))
+                .thenThrow(new SenderUnavailableException("Circuit of target 'wmstk' is open"));
+
+        wmstkNotificationSender.sendNotification(orderDto);
+
+        assertDoesNotThrow(wmstkNotificationSender::flushOnShutdown);
+
+        verify(orderOutbox).enqueue(orderDto);
+    }
+
+    /**
+     * Test case to verify that the startup fails if batching is enabled without the URL of the batch endpoint.
+     */
+    @Test
+    void testWhenBatchEnabledWithoutBatchUrlThenStartupFails() {
+        ReflectionTestUtils.setField(wmstkNotificationSender, "wmstkBatchUrl", "");
+
+        assertThrows(IllegalStateException.class, wmstkNotificationSender::validateBatchConfiguration);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.springboottests.unit;
+
+import com.example.springboottests.functional.note.NoteXmlReader;
+import com.example.springboottests.functional.note.XmlConverter;
+import com.example.springboottests.functional.note.exception.XmlConverterException;
+import com.example.springboottests.functional.note.model.Note;
+import com.example.springboottests.functional.note.model.NoteInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static com.example.springboottests.misc.utils.TestUtils.loadFile;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for the {@link XmlConverter}.
+ * <p>
+ * These tests verify that the streaming fast path registered for {@link Note} produces the same results
+ * as full databinding, and that unsupported documents fall back to it.
+ *
+ * @author Georgii Lvov
+ */
+class XmlConverterTests {
+
+    private final XmlConverter xmlConverter = new XmlConverter(List.of(new NoteXmlReader()));
+
+    /**
+     * Test case to verify that a note message is read by the streaming reader.
+     */
+    @Test
+    void testWhenNoteXmlThenNoteIsRead() {
+        Note note = xmlConverter.toObject(loadFile("/data/xml/note.xml"), Note.class);
+
+        assertThat(note).isEqualTo(new Note("note_id_value"));
+    }
+
+    /**
+     * Test case to verify that a document not supported by the streaming reader is deserialized with databinding.
+     */
+    @Test
+    void testWhenNoteIdIsAttributeThenNoteIsReadWithDatabinding() {
+        Note note = xmlConverter.toObject("<note noteId=\"note_id_value\"/>", Note.class);
+
+        assertThat(note).isEqualTo(new Note("note_id_value"));
+    }
+
+    /**
+     * Test case to verify that a class without a streaming reader is deserialized with databinding.
+     */
+    @Test
+    void testWhenNoStreamingReaderThenObjectIsReadWithDatabinding() {
+        NoteInfo noteInfo = xmlConverter.toObject(
+                "<noteInfo><noteId>note_id_value</noteId><noteStatus>PROCESSED</noteStatus></noteInfo>",
+                NoteInfo.class
+        );
+
+        assertThat(noteInfo).isEqualTo(new NoteInfo("note_id_value", "PROCESSED"));
+    }
+
+    /**
+     * Parameterized test case to verify that invalid messages result in an {@link XmlConverterException}.
+     *
+     * @param xml the invalid message
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "<note><noteId>note_id_value</noteId><unknown>value</unknown></note>",
+            "<note><noteId>note_id_value</note>",
+            "not xml"
+    })
+    void testWhenInvalidXmlThenXmlConverterExceptionIsThrown(String xml) {
+        assertThrows(XmlConverterException.class, () -> xmlConverter.toObject(xml, Note.class));
+    }
+}
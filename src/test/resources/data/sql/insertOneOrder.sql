@@ -1,7 +1,9 @@
 INSERT INTO orders
 (id,
  workorder_id,
- state)
+ state,
+ version)
 VALUES (1,
         'old_workorder_id_value',
-        'CREATED');
\ No newline at end of file
+        'CREATED',
+        0);
\ No newline at end of file